@@ -0,0 +1,97 @@
+package com.ihm.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ihm.backend.config.JacksonConfig;
+import com.ihm.backend.dto.response.ApiResponse;
+import com.ihm.backend.dto.response.CourseResponse;
+import com.ihm.backend.dto.response.EnrichedCourseResponse;
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import com.ihm.backend.mappers.CourseMapperImpl;
+import com.ihm.backend.security.ErrorResponseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON des réponses ApiResponse avec l'ObjectMapper configuré par l'application.
+ * Les variantes unauthorized* comparent le 401 des filtres de sécurité : chaîne via l'ObjectMapper
+ * (ancien chemin), ObjectWriter résolu une fois, enveloppe pré-sérialisée complétée de l'horodatage.
+ * Allocation par opération : ./mvnw -Pjmh verify -Djmh.args="-f 1 -wi 3 -i 5 -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({ "10", "1000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter envelopeWriter;
+    private ErrorResponseWriter errorResponseWriter;
+    private ErrorResponseWriter.PreparedEnvelope unauthorized;
+    private List<CourseResponse> courses;
+    private List<EnrichedCourseResponse> enrichedCourses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JacksonConfig.newObjectMapper();
+        envelopeWriter = objectMapper.writerFor(ApiResponse.class);
+        errorResponseWriter = new ErrorResponseWriter(objectMapper);
+        unauthorized = errorResponseWriter.prepare(
+                ApiResponse.unauthorized("Accès non autorisé", "Token manquant ou invalide"));
+
+        List<Course> entities = BenchmarkFixtures.courses(size);
+        courses = new CourseMapperImpl().toResponse(entities);
+        enrichedCourses = new ArrayList<>(size);
+        for (Enrollment enrollment : BenchmarkFixtures.enrollments(entities)) {
+            enrichedCourses.add(EnrichedCourseResponse.fromCourse(enrollment.getCourse(), enrollment));
+        }
+    }
+
+    @Benchmark
+    public byte[] messageOnly() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Cours supprimé avec succès"));
+    }
+
+    @Benchmark
+    public byte[] courseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Tous les cours récupérés avec succès", courses));
+    }
+
+    @Benchmark
+    public byte[] enrichedCourseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                ApiResponse.success("Cours enrichis récupérés avec succès", enrichedCourses));
+    }
+
+    @Benchmark
+    public byte[] unauthorizedMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(ApiResponse.unauthorized("Accès non autorisé", "Token manquant ou invalide"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] unauthorizedCachedWriter() throws JsonProcessingException {
+        return envelopeWriter.writeValueAsBytes(ApiResponse.unauthorized("Accès non autorisé", "Token manquant ou invalide"));
+    }
+
+    @Benchmark
+    public byte[] unauthorizedPrepared() {
+        return errorResponseWriter.body(unauthorized, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,96 @@
+package com.ihm.backend.benchmark;
+
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.EnrollmentStatus;
+import com.ihm.backend.enums.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Jeux de données en mémoire pour les benchmarks, proches de ce que renvoie la base
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User teacher(int index) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("teacher" + index + "@xccm.test")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoO5uYdZ9p1Q4zQKcV5h1lq8rZ8lJk0m2W")
+                .role(UserRole.TEACHER)
+                .firstName("Prénom" + index)
+                .lastName("Nom" + index)
+                .photoUrl("/uploads/teacher" + index + ".png")
+                .grade("Maître de conférences")
+                .registrationDate(LocalDateTime.now())
+                .build();
+    }
+
+    static User student(int index) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("student" + index + "@xccm.test")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoO5uYdZ9p1Q4zQKcV5h1lq8rZ8lJk0m2W")
+                .role(UserRole.STUDENT)
+                .firstName("Étudiant" + index)
+                .lastName("Nom" + index)
+                .registrationDate(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Cours publiés répartis sur dix enseignants, avec un contenu de taille réaliste
+     */
+    static List<Course> courses(int count) {
+        List<User> teachers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            teachers.add(teacher(i));
+        }
+        String content = "Contenu du chapitre. ".repeat(100);
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            courses.add(Course.builder()
+                    .id(i + 1)
+                    .title("Cours " + i)
+                    .category("Informatique")
+                    .description("Description du cours " + i)
+                    .status(CourseStatus.PUBLISHED)
+                    .author(teachers.get(i % teachers.size()))
+                    .createdAt(LocalDateTime.now())
+                    .publishedAt(LocalDateTime.now())
+                    .content(content)
+                    .coverImage("/uploads/cours" + i + ".png")
+                    .build());
+        }
+        return courses;
+    }
+
+    /**
+     * Un enrôlement du même étudiant par cours
+     */
+    static List<Enrollment> enrollments(List<Course> courses) {
+        User student = student(0);
+        List<Enrollment> enrollments = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            enrollments.add(Enrollment.builder()
+                    .id((long) course.getId())
+                    .user(student)
+                    .course(course)
+                    .enrolledAt(LocalDateTime.now())
+                    .progress(42.5)
+                    .lastAccessed(LocalDateTime.now())
+                    .completed(false)
+                    .status(EnrollmentStatus.APPROVED)
+                    .build());
+        }
+        return enrollments;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ihm.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ihm.backend.config.JacksonConfig;
+import com.ihm.backend.dto.response.EnrichedCourseResponse;
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON contre CBOR et Smile sur une grande liste de cours enrichis, avec le réglage applicatif (JacksonConfig) :
+ * débit en écriture et en lecture. La taille des charges, brute et gzip, est donnée par main :
+ * ./mvnw -Pjmh verify -Djmh.main=com.ihm.backend.benchmark.BinaryFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BinaryFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "1000" })
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<EnrichedCourseResponse> enrichedCourses;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = JacksonConfig.newObjectMapper(switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        });
+
+        List<Course> courses = BenchmarkFixtures.courses(size);
+        enrichedCourses = new ArrayList<>(size);
+        for (Enrollment enrollment : BenchmarkFixtures.enrollments(courses)) {
+            enrichedCourses.add(EnrichedCourseResponse.fromCourse(enrollment.getCourse(), enrollment));
+        }
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, EnrichedCourseResponse.class));
+        reader = objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, EnrichedCourseResponse.class));
+        payload = writer.writeValueAsBytes(enrichedCourses);
+    }
+
+    /**
+     * Taille des charges de chaque format, hors JMH : le débit ne dit rien des octets envoyés
+     */
+    public static void main(String[] args) throws IOException {
+        BinaryFormatBenchmark benchmark = new BinaryFormatBenchmark();
+        benchmark.size = 1000;
+        System.out.printf("%-6s %12s %12s%n", "Format", "Brut (o)", "gzip (o)");
+        for (String format : List.of("json", "cbor", "smile")) {
+            benchmark.format = format;
+            benchmark.setUp();
+            System.out.printf("%-6s %12d %12d%n", format, benchmark.payload.length, gzipped(benchmark.payload));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEnrichedCourses() throws IOException {
+        return writer.writeValueAsBytes(enrichedCourses);
+    }
+
+    @Benchmark
+    public List<EnrichedCourseResponse> deserializeEnrichedCourses() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ihm.backend.benchmark;
+
+import com.ihm.backend.entity.User;
+import com.ihm.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature et vérification des jetons JWT, exécutées à chaque connexion et à chaque requête authentifiée
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "ce4f01beeee4257f8ae44276369cd65974b8e114a9103cdc738f01c391a9b023");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 900000L);
+        user = BenchmarkFixtures.student(0);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(user);
+    }
+
+    /**
+     * Même opération que JwtAuthenticationFilter : une vérification, le principal est lu dans les claims
+     */
+    @Benchmark
+    public Claims verify() {
+        return jwtService.parseToken(token);
+    }
+}
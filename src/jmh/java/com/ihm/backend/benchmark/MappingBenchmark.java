@@ -0,0 +1,62 @@
+package com.ihm.backend.benchmark;
+
+import com.ihm.backend.dto.EnrollmentDTO;
+import com.ihm.backend.dto.response.CourseResponse;
+import com.ihm.backend.dto.response.EnrichedCourseResponse;
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import com.ihm.backend.mappers.CourseMapper;
+import com.ihm.backend.mappers.CourseMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion entités -> DTO sur des listes de la taille du catalogue
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+    @Param({ "10", "1000" })
+    private int size;
+
+    private final CourseMapper courseMapper = new CourseMapperImpl();
+    private List<Course> courses;
+    private List<Enrollment> enrollments;
+
+    @Setup
+    public void setUp() {
+        courses = BenchmarkFixtures.courses(size);
+        enrollments = BenchmarkFixtures.enrollments(courses);
+    }
+
+    @Benchmark
+    public List<CourseResponse> courseMapperToResponse() {
+        return courseMapper.toResponse(courses);
+    }
+
+    @Benchmark
+    public void enrichedCourseFromCourse(Blackhole blackhole) {
+        for (Enrollment enrollment : enrollments) {
+            blackhole.consume(EnrichedCourseResponse.fromCourse(enrollment.getCourse(), enrollment));
+        }
+    }
+
+    @Benchmark
+    public void enrollmentDtoFromEntity(Blackhole blackhole) {
+        for (Enrollment enrollment : enrollments) {
+            blackhole.consume(EnrollmentDTO.fromEntity(enrollment));
+        }
+    }
+}
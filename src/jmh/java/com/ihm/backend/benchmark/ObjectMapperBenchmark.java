@@ -0,0 +1,79 @@
+package com.ihm.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ihm.backend.config.JacksonConfig;
+import com.ihm.backend.dto.response.EnrichedCourseResponse;
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ObjectMapper applicatif (accesseurs Blackbird) contre le même réglage sans Blackbird (réflexion),
+ * sur une grande liste de cours enrichis : débit en sérialisation et en lecture
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ObjectMapperBenchmark {
+
+    @Param({ "reflection", "blackbird" })
+    private String accessors;
+
+    @Param({ "1000" })
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<EnrichedCourseResponse> enrichedCourses;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper;
+        if ("blackbird".equals(accessors)) {
+            objectMapper = JacksonConfig.newObjectMapper();
+        } else {
+            // Mêmes formats de date, sans le module Blackbird
+            Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+            JacksonConfig.dateFormat(builder);
+            objectMapper = builder.build();
+        }
+
+        List<Course> courses = BenchmarkFixtures.courses(size);
+        enrichedCourses = new ArrayList<>(size);
+        for (Enrollment enrollment : BenchmarkFixtures.enrollments(courses)) {
+            enrichedCourses.add(EnrichedCourseResponse.fromCourse(enrollment.getCourse(), enrollment));
+        }
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, EnrichedCourseResponse.class));
+        reader = objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, EnrichedCourseResponse.class));
+        json = writer.writeValueAsBytes(enrichedCourses);
+    }
+
+    @Benchmark
+    public byte[] serializeEnrichedCourses() throws JsonProcessingException {
+        return writer.writeValueAsBytes(enrichedCourses);
+    }
+
+    @Benchmark
+    public List<EnrichedCourseResponse> deserializeEnrichedCourses() throws IOException {
+        return reader.readValue(json);
+    }
+}
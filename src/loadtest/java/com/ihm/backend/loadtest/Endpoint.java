@@ -0,0 +1,55 @@
+package com.ihm.backend.loadtest;
+
+/**
+ * Endpoints du trafic mixte et leur poids relatif, calqués sur l'usage d'un étudiant connecté
+ */
+enum Endpoint {
+
+    LOGIN("POST /api/v1/auth/login", 5),
+    COURSES("GET /courses", 15),
+    ENRICHED_COURSES("GET /courses/enriched", 25),
+    ENRICHED_COURSE("GET /courses/enriched/{courseId}", 20),
+    MY_ENROLLMENTS("GET /api/enrollments/my-courses", 15),
+    MY_COURSE_SUMMARIES("GET /api/enrollments/my-courses/summary", 10),
+    ENROLL("POST /api/enrollments/courses/{courseId}", 5);
+
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (Endpoint endpoint : values()) {
+            total += endpoint.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final String label;
+    private final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    /**
+     * Tire un endpoint selon les poids, à partir d'un entier uniforme dans [0, poids total)
+     */
+    static Endpoint pick(int draw) {
+        int remaining = draw % TOTAL_WEIGHT;
+        for (Endpoint endpoint : values()) {
+            remaining -= endpoint.weight;
+            if (remaining < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Tirage hors bornes : " + draw);
+    }
+
+    static int totalWeight() {
+        return TOTAL_WEIGHT;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ihm.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences (histogramme HDR en microsecondes) et statuts d'un endpoint sur un palier
+ */
+class EndpointStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+
+    void record(long latencyMicros, int status) {
+        latencies.recordValue(latencyMicros);
+        if (status >= 500 || status < 0) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+    }
+
+    LoadTestReport.EndpointResult toResult(Endpoint endpoint, double seconds) {
+        long count = latencies.getTotalCount();
+        return new LoadTestReport.EndpointResult(
+                endpoint.label(),
+                count,
+                clientErrors.sum(),
+                serverErrors.sum(),
+                Math.round(count / seconds * 10) / 10.0,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(95)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ihm.backend.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rapport JSON d'une campagne : un bloc par palier de concurrence, une ligne par endpoint
+ */
+record LoadTestReport(LocalDateTime startedAt,
+                      boolean virtualThreads,
+                      int dbPoolSize,
+                      Dataset dataset,
+                      List<StageResult> stages) {
+
+    record Dataset(int teachers, int students, int courses, long enrollments) {
+    }
+
+    /**
+     * @param concurrency requêtes en vol visées
+     * @param maxInFlight requêtes réellement en vol au maximum côté client
+     */
+    record StageResult(int concurrency,
+                       double durationSeconds,
+                       int maxInFlight,
+                       double throughput,
+                       List<EndpointResult> endpoints) {
+    }
+
+    /**
+     * Débit en requêtes/s, latences en millisecondes ; 4xx et 5xx (ou erreurs réseau) comptés à part
+     */
+    record EndpointResult(String endpoint,
+                          long requests,
+                          long clientErrors,
+                          long serverErrors,
+                          double throughput,
+                          double p50Ms,
+                          double p95Ms,
+                          double p99Ms,
+                          double maxMs) {
+    }
+}
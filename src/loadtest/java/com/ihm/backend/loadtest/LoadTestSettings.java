@@ -0,0 +1,44 @@
+package com.ihm.backend.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Paramètres d'une campagne de charge, surchargeables en ligne de commande (-Dloadtest.*)
+ *
+ * @param teachers      enseignants générés
+ * @param students      étudiants générés
+ * @param courses       cours publiés générés
+ * @param enrollments   enrôlements générés
+ * @param sessions      étudiants connectés qui portent le trafic
+ * @param stages        paliers de concurrence (requêtes en vol simultanées)
+ * @param warmup        durée de chauffe avant le premier palier, non mesurée
+ * @param stageDuration durée de mesure de chaque palier
+ */
+record LoadTestSettings(int teachers,
+                        int students,
+                        int courses,
+                        long enrollments,
+                        int sessions,
+                        List<Integer> stages,
+                        Duration warmup,
+                        Duration stageDuration) {
+
+    static LoadTestSettings from(Environment env) {
+        return new LoadTestSettings(
+                env.getProperty("loadtest.teachers", Integer.class, 50),
+                env.getProperty("loadtest.students", Integer.class, 5_000),
+                env.getProperty("loadtest.courses", Integer.class, 2_000),
+                env.getProperty("loadtest.enrollments", Long.class, 50_000L),
+                env.getProperty("loadtest.sessions", Integer.class, 200),
+                Arrays.stream(env.getProperty("loadtest.stages", "50,200,800").split(","))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .toList(),
+                env.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(15)),
+                env.getProperty("loadtest.stage-duration", Duration.class, Duration.ofSeconds(30)));
+    }
+}
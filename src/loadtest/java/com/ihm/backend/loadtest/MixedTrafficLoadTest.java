@@ -0,0 +1,136 @@
+package com.ihm.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ihm.backend.seed.GeneratedData;
+import com.ihm.backend.seed.SeedPlan;
+import com.ihm.backend.seed.SyntheticDataGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Campagne de charge de bout en bout : application complète sur un port aléatoire, base PostgreSQL
+ * (Testcontainers, ou une instance locale via -Dloadtest.jdbc-url), jeu de données généré par COPY puis
+ * trafic mixte par paliers de concurrence. Rapport dans target/loadtest-report.json.
+ *
+ * <pre>
+ * ./mvnw -Ploadtest verify
+ * ./mvnw -Ploadtest verify -Dspring.threads.virtual.enabled=false -Dloadtest.stages=50,200
+ * </pre>
+ */
+@Slf4j
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MixedTrafficLoadTest {
+
+    private static final Path REPORT = Path.of("target", "loadtest-report.json");
+    private static final String PASSWORD = "LoadTest#2024";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        String jdbcUrl = System.getProperty("loadtest.jdbc-url");
+        if (jdbcUrl != null) {
+            registry.add("spring.datasource.url", () -> jdbcUrl);
+            registry.add("spring.datasource.username", () -> System.getProperty("loadtest.jdbc-username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("loadtest.jdbc-password", ""));
+            return;
+        }
+        // Conteneur partagé par la JVM de test, arrêté par Testcontainers (Ryuk) en fin de campagne
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedTraffic() throws IOException, InterruptedException, SQLException {
+        LoadTestSettings settings = LoadTestSettings.from(environment);
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        GeneratedData data = generator.generate(new SeedPlan(settings.teachers(), settings.students(),
+                settings.courses(), settings.enrollments(), 1.1, 1.0, PASSWORD, 42));
+        log.info("Jeu de données généré en {} s", data.elapsed().toSeconds());
+        List<String> studentEmails = IntStream.range(0, data.students()).mapToObj(data::studentEmail).toList();
+        TrafficDriver driver = new TrafficDriver("http://localhost:" + port, objectMapper, PASSWORD,
+                studentEmails, data.publishedCourseIds());
+        driver.openSessions(settings.sessions());
+
+        log.info("Chauffe pendant {}", settings.warmup());
+        driver.runStage(settings.stages().get(0), settings.warmup());
+
+        List<LoadTestReport.StageResult> stages = new ArrayList<>();
+        for (int concurrency : settings.stages()) {
+            LoadTestReport.StageResult stage = driver.runStage(concurrency, settings.stageDuration());
+            logStage(stage);
+            stages.add(stage);
+        }
+
+        LoadTestReport report = new LoadTestReport(
+                startedAt,
+                environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false),
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10),
+                new LoadTestReport.Dataset(data.teachers(), data.students(), data.courses(), data.enrollments()),
+                stages);
+        write(report);
+
+        // Les erreurs sous surcharge sont un résultat de la campagne, pas un échec : elles figurent au rapport
+        assertThat(stages).allSatisfy(stage -> assertThat(stage.endpoints())
+                .anySatisfy(endpoint -> assertThat(endpoint.requests()).isPositive()));
+    }
+
+    private void logStage(LoadTestReport.StageResult stage) {
+        StringBuilder table = new StringBuilder(String.format("%nPalier %d requêtes en vol (max observé %d) : %.1f req/s%n",
+                stage.concurrency(), stage.maxInFlight(), stage.throughput()));
+        table.append(String.format("%-45s %9s %6s %6s %9s %8s %8s %8s%n",
+                "endpoint", "requêtes", "4xx", "5xx", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        for (LoadTestReport.EndpointResult endpoint : stage.endpoints()) {
+            table.append(String.format("%-45s %9d %6d %6d %9.1f %8.1f %8.1f %8.1f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.clientErrors(), endpoint.serverErrors(),
+                    endpoint.throughput(), endpoint.p50Ms(), endpoint.p95Ms(), endpoint.p99Ms()));
+        }
+        log.info(table.toString());
+    }
+
+    private void write(LoadTestReport report) throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(REPORT.toFile(), report);
+        log.info("Rapport écrit dans {}", REPORT.toAbsolutePath());
+    }
+}
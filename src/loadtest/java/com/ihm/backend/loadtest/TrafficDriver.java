@@ -0,0 +1,154 @@
+package com.ihm.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génère le trafic mixte : chaque worker (thread virtuel) enchaîne des requêtes tirées selon les poids
+ * des endpoints, sous l'identité d'un étudiant connecté pris au hasard
+ */
+@Slf4j
+class TrafficDriver {
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final String password;
+    private final HttpClient httpClient;
+    private final List<String> studentEmails;
+    private final List<Integer> courseIds;
+    private final List<String> tokens = new ArrayList<>();
+
+    TrafficDriver(String baseUrl, ObjectMapper objectMapper, String password, List<String> studentEmails,
+                  List<Integer> courseIds) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.password = password;
+        this.studentEmails = studentEmails;
+        this.courseIds = courseIds;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Connecte les premiers étudiants : leurs jetons portent tout le trafic authentifié
+     */
+    void openSessions(int sessions) throws IOException, InterruptedException {
+        for (int i = 0; i < Math.min(sessions, studentEmails.size()); i++) {
+            HttpResponse<byte[]> response = send(login(studentEmails.get(i)));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Connexion impossible pour " + studentEmails.get(i)
+                        + " : HTTP " + response.statusCode());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            tokens.add(body.path("data").path("token").asText());
+        }
+        log.info("{} sessions étudiantes ouvertes", tokens.size());
+    }
+
+    /**
+     * Exécute un palier : {@code concurrency} workers pendant {@code duration}
+     */
+    LoadTestReport.StageResult runStage(int concurrency, Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Endpoint endpoint = Endpoint.pick(random.nextInt(Endpoint.totalWeight()));
+                        HttpRequest request = buildRequest(endpoint, random);
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        long sent = System.nanoTime();
+                        int status;
+                        try {
+                            status = send(request).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                        stats.get(endpoint).record((System.nanoTime() - sent) / 1_000, status);
+                    }
+                });
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        List<LoadTestReport.EndpointResult> endpoints = new ArrayList<>();
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            LoadTestReport.EndpointResult result = stats.get(endpoint).toResult(endpoint, seconds);
+            endpoints.add(result);
+            total += result.requests();
+        }
+        return new LoadTestReport.StageResult(concurrency, Math.round(seconds * 10) / 10.0, maxInFlight.get(),
+                Math.round(total / seconds * 10) / 10.0, endpoints);
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint, ThreadLocalRandom random) {
+        String token = tokens.get(random.nextInt(tokens.size()));
+        Integer courseId = courseIds.get(random.nextInt(courseIds.size()));
+        return switch (endpoint) {
+            case LOGIN -> login(studentEmails.get(random.nextInt(studentEmails.size())));
+            case COURSES -> get("/courses", token);
+            case ENRICHED_COURSES -> get("/courses/enriched", token);
+            case ENRICHED_COURSE -> get("/courses/enriched/" + courseId, token);
+            case MY_ENROLLMENTS -> get("/api/enrollments/my-courses", token);
+            case MY_COURSE_SUMMARIES -> get("/api/enrollments/my-courses/summary", token);
+            case ENROLL -> authorized("/api/enrollments/courses/" + courseId, token)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    private HttpRequest login(String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return authorized(path, token).GET().build();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,114 @@
+package com.ihm.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rend effectif server.compression.min-response-size pour les réponses Jackson de Spring MVC (JSON, CBOR, Smile).
+ * Spring MVC vide le flux après avoir écrit le corps : la réponse partait validée, sans Content-Length,
+ * et Tomcat compressait même un corps de quelques octets. Ce vidage est ignoré pour ces formats :
+ * un petit corps reste dans le tampon et Tomcat connaît sa taille, une grande liste déborde du tampon
+ * et part compressée au fil de l'écriture. Les flux CSV et NDJSON gardent leurs vidages explicites.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "server.compression", name = "enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private static final List<String> BUFFERED_TYPES = List.of(MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, "application/x-jackson-smile");
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, new JsonBufferingResponse(response));
+    }
+
+    private static final class JsonBufferingResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        JsonBufferingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new JsonBufferingOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            // Appelé par Spring MVC après l'écriture d'une ResponseEntity
+            if (!isBuffered()) {
+                super.flushBuffer();
+            }
+        }
+
+        boolean isBuffered() {
+            String contentType = getContentType();
+            return contentType != null && BUFFERED_TYPES.stream().anyMatch(contentType::startsWith);
+        }
+    }
+
+    private static final class JsonBufferingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final JsonBufferingResponse response;
+
+        JsonBufferingOutputStream(ServletOutputStream delegate, JsonBufferingResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!response.isBuffered()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
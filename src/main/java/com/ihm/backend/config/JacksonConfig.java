@@ -2,49 +2,83 @@
 
 package com.ihm.backend.config;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 import java.time.format.DateTimeFormatter;
 
+/**
+ * Un seul ObjectMapper, celui de Spring Boot (spring.jackson.*, fuseau compris), complété ici par
+ * les accesseurs générés de Blackbird. Utilisé par Spring MVC comme par les composants qui injectent ObjectMapper.
+ * Les convertisseurs CBOR et Smile partent du même builder : mêmes modules, mêmes formats, seul l'encodage change.
+ */
 @Configuration
 public class JacksonConfig {
 
-    private static final String DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS";
+    // Format des LocalDateTime en sortie : ISO 8601, fraction de seconde seulement si non nulle.
+    // C'est celui de JavaTimeModule ; les écritures hors Jackson (ErrorResponseWriter) le reprennent.
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
-    // ISO 8601 avec millisecondes
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer xccmJacksonCustomizer() {
+        return JacksonConfig::customize;
+    }
 
+    /**
+     * Servi quand le client envoie Accept: application/cbor ; JSON reste le format par défaut.
+     * Ces beans remplacent les convertisseurs binaires que Spring MVC construirait sans les réglages de Spring Boot
+     */
     @Bean
-    @Primary // LE PLUS IMPORTANT : Spring utilisera TOUJOURS cet ObjectMapper
-    public ObjectMapper objectMapper(Jackson2ObjectMapperBuilder builder) {
-        ObjectMapper mapper = builder.createXmlMapper(false).build();
-        
-        // On force le bon format pour LocalDateTime partout
-        JavaTimeModule module = new JavaTimeModule();
-        module.addSerializer(java.time.LocalDateTime.class,
-            new com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer(
-                DateTimeFormatter.ofPattern(DATE_TIME_PATTERN)));
-        module.addDeserializer(java.time.LocalDateTime.class,
-            new com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer(
-                DateTimeFormatter.ofPattern(DATE_TIME_PATTERN)));
-        
-        mapper.registerModule(module);
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        
-        return mapper;
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
     }
 
-    // Ce bean est utilisé par Spring Boot pour construire l'ObjectMapper principal
+    /**
+     * Servi quand le client envoie Accept: application/x-jackson-smile
+     */
     @Bean
-    public Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder() {
-        return new Jackson2ObjectMapperBuilder()
-                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-                .timeZone("Africa/Douala") // ou "Europe/Paris" selon ton fuseau
-                .simpleDateFormat(DATE_TIME_PATTERN);
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Réglages appliqués au builder de Spring Boot, après ceux issus des propriétés spring.jackson.*
+     */
+    public static void customize(Jackson2ObjectMapperBuilder builder) {
+        dateFormat(builder);
+        builder.modulesToInstall(new BlackbirdModule());
+    }
+
+    /**
+     * Dates en texte ISO plutôt qu'en tableaux de nombres (déjà fixé par spring.jackson.*, repris hors Spring)
+     */
+    public static void dateFormat(Jackson2ObjectMapperBuilder builder) {
+        builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * ObjectMapper équivalent hors contexte Spring (tests, benchmarks)
+     */
+    public static ObjectMapper newObjectMapper() {
+        return newObjectMapper(new JsonFactory());
+    }
+
+    /**
+     * Même réglage pour un autre encodage (CBORFactory, SmileFactory)
+     */
+    public static ObjectMapper newObjectMapper(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder().factory(factory);
+        customize(builder);
+        return builder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.ihm.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches @Scheduled (maintenance) ; app.maintenance.enabled=false les coupe sur une instance
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.maintenance", name = "enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,36 @@
+package com.ihm.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Joue indexes-postgresql.sql une fois le schéma mis à jour par Hibernate, avant l'ouverture du serveur HTTP.
+ * schema-postgresql.sql s'exécute avant Hibernate : sur une base neuve, les tables n'y existent pas encore
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "spring.sql.init", name = "mode", havingValue = "always")
+public class SchemaIndexInitializer implements InitializingBean {
+
+    private static final String SCRIPT = "indexes-postgresql.sql";
+
+    private final DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCRIPT));
+        populator.setSeparator("@@");
+        populator.execute(dataSource);
+        log.debug("Index post-schéma vérifiés ({})", SCRIPT);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ihm.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ihm.backend.dto.UserDto;
+import com.ihm.backend.dto.request.UserSearchRequest;
+import com.ihm.backend.dto.response.ApiResponse;
+import com.ihm.backend.dto.response.CursorPage;
+import com.ihm.backend.dto.response.UserImportLine;
+import com.ihm.backend.mappers.UserMapper;
+import com.ihm.backend.service.UserImportService;
+import com.ihm.backend.service.UserService;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final UserImportService userImportService;
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Annuaire des utilisateurs trié par email, filtrable par rôle, état et début d'email ou de nom.
+     * Page suivante : repasser nextCursor dans le paramètre after.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<UserDto>>> searchUsers(@Valid UserSearchRequest search) {
+        CursorPage<UserDto> users = userService.searchUsers(search);
+        return ResponseEntity.ok(ApiResponse.success("Utilisateurs récupérés", users));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserDto>> getUser(@PathVariable UUID id) {
+        UserDto user = userMapper.toDto(userService.getUserById(id));
+        return ResponseEntity.ok(ApiResponse.success("Utilisateur récupéré", user));
+    }
+
+    /**
+     * Désactive le compte : connexion refusée, refresh tokens révoqués, tokens d'accès en cours refusés
+     */
+    @PatchMapping("/{id}/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> deactivateUser(@PathVariable UUID id) {
+        userService.deactivateUser(id);
+        return ResponseEntity.ok(ApiResponse.success("Utilisateur désactivé"));
+    }
+
+    @PatchMapping("/{id}/activate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> activateUser(@PathVariable UUID id) {
+        userService.activateUser(id);
+        return ResponseEntity.ok(ApiResponse.success("Utilisateur réactivé"));
+    }
+
+    /**
+     * Importe des utilisateurs depuis un CSV envoyé tel quel dans le corps (text/csv), lu en flux.
+     * Colonnes : email, firstName, lastName, password obligatoires ; role, university, specialization, city facultatives.
+     * Réponse NDJSON : une ligne par ligne du CSV, émise lot par lot après commit, puis le bilan.
+     * Après une interruption, relancer avec fromRow = dernière ligne reçue + 1.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importUsers(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "1") long fromRow,
+            HttpServletResponse response) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UserImportLine.class);
+        BufferedReader csv = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        AtomicLong lastReportedRow = new AtomicLong(fromRow - 1);
+        try {
+            userImportService.importCsv(csv, fromRow, lines -> {
+                try {
+                    ServletOutputStream out = response.getOutputStream();
+                    for (UserImportLine line : lines) {
+                        out.write(writer.writeValueAsBytes(line));
+                        out.write('\n');
+                    }
+                    // Le client voit chaque lot commité sans attendre la fin de l'import
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                lines.stream().map(UserImportLine::getRow).filter(Objects::nonNull).forEach(lastReportedRow::set);
+            });
+        } catch (UncheckedIOException e) {
+            // Client déconnecté : les lots commités restent, il reprendra avec fromRow
+            log.warn("Import interrompu par le client, reprise possible à la ligne {}", lastReportedRow.get() + 1);
+        }
+    }
+}
@@ -57,6 +57,16 @@ public class AuthController {
         return ResponseEntity.status(response.getCode()).body(response);
     }
 
+    /**
+     * Échange un refresh token contre un nouveau couple token d'accès / refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthenticationResponse>> refresh(
+            @RequestBody @jakarta.validation.Valid RefreshTokenRequest request) {
+        ApiResponse<AuthenticationResponse> response = authService.refresh(request);
+        return ResponseEntity.status(response.getCode()).body(response);
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<ApiResponse<?>> forgotPassword(
             @RequestBody PasswordResetRequest request) {
@@ -18,6 +18,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/courses")
@@ -63,10 +64,8 @@ public class CourseController {
             @RequestParam MultipartFile image,
             Authentication authentication) throws Exception {
         User currentUser = (User) authentication.getPrincipal();
-        courseService.validateOwnership(courseId, currentUser.getId());
-
         return ResponseEntity.ok(ApiResponse.success("Image de couverture téléchargée avec succès",
-                courseService.uploadCoverImage(courseId, image)));
+                courseService.uploadCoverImage(courseId, image, currentUser.getId())));
     }
 
     @PreAuthorize("hasRole('TEACHER')")
@@ -75,10 +74,8 @@ public class CourseController {
             @PathVariable CourseStatus status,
             Authentication authentication) throws Exception {
         User currentUser = (User) authentication.getPrincipal();
-        courseService.validateOwnership(courseId, currentUser.getId());
-
         return ResponseEntity.ok(ApiResponse.success("Statut du cours mis à jour avec succès",
-                courseService.changeCourseStatus(status, courseId)));
+                courseService.changeCourseStatus(status, courseId, currentUser.getId())));
     }
 
     @PreAuthorize("hasRole('TEACHER')")
@@ -87,10 +84,8 @@ public class CourseController {
             @RequestParam CourseStatus status,
             Authentication authentication) throws Exception {
         User currentUser = (User) authentication.getPrincipal();
-        courseService.validateOwnership(courseId, currentUser.getId());
-
         return ResponseEntity.ok(ApiResponse.success("Statut du cours mis à jour avec succès",
-                courseService.changeCourseStatus(status, courseId)));
+                courseService.changeCourseStatus(status, courseId, currentUser.getId())));
     }
 
     @GetMapping("/{authorId}/status/{status}")
@@ -102,9 +97,10 @@ public class CourseController {
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CourseResponse>>> getAllCourses() {
+    public ResponseEntity<ApiResponse<Stream<CourseResponse>>> getAllCourses() {
+        // Chaque cours est converti au moment où Jackson l'écrit dans la réponse
         return ResponseEntity
-                .ok(ApiResponse.success("Tous les cours récupérés avec succès", courseService.getAllCourses()));
+                .ok(ApiResponse.success("Tous les cours récupérés avec succès", courseService.streamAllCourses()));
     }
 
     @PreAuthorize("hasRole('TEACHER')")
@@ -113,10 +109,9 @@ public class CourseController {
             @RequestBody CourseUpdateRequest request,
             Authentication authentication) throws Exception {
         User currentUser = (User) authentication.getPrincipal();
-        courseService.validateOwnership(courseId, currentUser.getId());
-
         return ResponseEntity
-                .ok(ApiResponse.success("Cours mis à jour avec succès", courseService.updateCourse(courseId, request)));
+                .ok(ApiResponse.success("Cours mis à jour avec succès",
+                        courseService.updateCourse(courseId, request, currentUser.getId())));
     }
 
     @PreAuthorize("hasRole('TEACHER')")
@@ -124,9 +119,7 @@ public class CourseController {
     public ResponseEntity<ApiResponse<Void>> deleteCourse(@PathVariable Integer courseId,
             Authentication authentication) throws Exception {
         User currentUser = (User) authentication.getPrincipal();
-        courseService.validateOwnership(courseId, currentUser.getId());
-
-        courseService.deleteCourse(courseId);
+        courseService.deleteCourse(courseId, currentUser.getId());
         return ResponseEntity.ok(ApiResponse.success("Cours supprimé avec succès"));
     }
 
@@ -137,14 +130,14 @@ public class CourseController {
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/enriched")
-    public ResponseEntity<ApiResponse<List<EnrichedCourseResponse>>> getEnrichedCourses(Authentication authentication) {
+    public ResponseEntity<ApiResponse<Stream<EnrichedCourseResponse>>> getEnrichedCourses(Authentication authentication) {
         UUID userId = null;
         if (authentication != null) {
             User currentUser = (User) authentication.getPrincipal();
             userId = currentUser.getId();
         }
 
-        List<EnrichedCourseResponse> enrichedCourses = courseService.getEnrichedCourses(userId);
+        Stream<EnrichedCourseResponse> enrichedCourses = courseService.streamEnrichedCourses(userId);
         return ResponseEntity.ok(ApiResponse.success("Cours enrichis récupérés avec succès", enrichedCourses));
     }
 
@@ -2,16 +2,24 @@ package com.ihm.backend.controller;
 
 import com.ihm.backend.dto.EnrollmentDTO;
 import com.ihm.backend.dto.response.ApiResponse;
+import com.ihm.backend.dto.response.StudentCourseSummary;
 import com.ihm.backend.entity.User;
 import com.ihm.backend.service.EnrollmentService;
+import com.ihm.backend.service.RosterExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @RestController
@@ -20,6 +28,7 @@ import java.util.List;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final RosterExportService rosterExportService;
 
     /**
      * Enrôler un étudiant à un cours
@@ -40,12 +49,27 @@ public class EnrollmentController {
      */
     @GetMapping("/my-courses")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<ApiResponse<List<EnrollmentDTO>>> getMyEnrollments(Authentication authentication) {
+    public ResponseEntity<ApiResponse<Stream<EnrollmentDTO>>> getMyEnrollments(Authentication authentication) {
         User student = (User) authentication.getPrincipal();
-        List<EnrollmentDTO> enrollments = enrollmentService.getUserEnrollments(student.getId());
+        Stream<EnrollmentDTO> enrollments = enrollmentService.streamUserEnrollments(student.getId());
         return ResponseEntity.ok(ApiResponse.success("Enrôlements récupérés", enrollments));
     }
 
+    /**
+     * Récupérer les cours d'un étudiant avec le résumé du cours et l'auteur, en un seul appel
+     * Tri possible sur lastAccessed (défaut), enrolledAt ou progress
+     */
+    @GetMapping("/my-courses/summary")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<List<StudentCourseSummary>>> getMyCourseSummaries(
+            @RequestParam(defaultValue = "lastAccessed") String sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            Authentication authentication) {
+        User student = (User) authentication.getPrincipal();
+        List<StudentCourseSummary> summaries = enrollmentService.getUserCourseSummaries(student.getId(), sort, direction);
+        return ResponseEntity.ok(ApiResponse.success("Cours de l'étudiant récupérés", summaries));
+    }
+
     /**
      * Mettre à jour la progression d'un étudiant
      */
@@ -114,4 +138,26 @@ public class EnrollmentController {
         List<EnrollmentDTO> pending = enrollmentService.getPendingEnrollmentsForTeacher(teacher.getId());
         return ResponseEntity.ok(ApiResponse.success("Enrôlements en attente récupérés", pending));
     }
+
+    /**
+     * Exporter la liste des inscrits d'un cours (csv par défaut, ou ndjson), écrite au fil de la lecture
+     * Accessible à l'auteur du cours
+     */
+    @GetMapping("/courses/{courseId}/roster")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportRoster(
+            @PathVariable Integer courseId,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication authentication) {
+        User teacher = (User) authentication.getPrincipal();
+        RosterExportService.Format exportFormat = RosterExportService.Format.parse(format);
+        rosterExportService.checkAccess(courseId, teacher.getId());
+
+        String filename = "inscrits-cours-" + courseId + "." + exportFormat.name().toLowerCase();
+        StreamingResponseBody body = out -> rosterExportService.export(courseId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 }
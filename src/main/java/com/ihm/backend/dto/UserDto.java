@@ -34,4 +34,6 @@ public class UserDto {
     private LocalDateTime lastLogin;
     
     private Boolean isActive;
+
+    private Boolean isVerified;
 }
@@ -0,0 +1,31 @@
+package com.ihm.backend.dto.request;
+
+import com.ihm.backend.enums.UserRole;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Filtres de l'annuaire administrateur, tous facultatifs ; résultats triés par email
+ */
+@Data
+public class UserSearchRequest {
+
+    private UserRole role;
+
+    private Boolean active;
+
+    private Boolean verified;
+
+    /** Début de l'email, du prénom ou du nom, sans distinction de casse */
+    @Size(max = 100, message = "La recherche ne peut dépasser 100 caractères")
+    private String q;
+
+    /** Curseur nextCursor de la page précédente */
+    private String after;
+
+    @Min(value = 1, message = "La taille de page doit être au moins 1")
+    @Max(value = 200, message = "La taille de page ne peut dépasser 200")
+    private int size = 50;
+}
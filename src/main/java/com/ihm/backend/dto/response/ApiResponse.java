@@ -13,11 +13,11 @@ import java.util.Map;
 /**
  * Classe wrapper pour standardiser toutes les réponses API
  * Format unifié: {status, message, data, timestamp}
+ * Construite par les méthodes statiques : une allocation et une lecture d'horloge par réponse
  *
  * @param <T> Type de données retournées
  */
 @Data
-@Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -43,8 +43,11 @@ public class ApiResponse<T> {
     private String error;
 
     @Schema(description = "Horodatage de la réponse", example = "2024-01-15T10:30:00")
-    @Builder.Default
-    private LocalDateTime timestamp = LocalDateTime.now();
+    private LocalDateTime timestamp;
+
+    private ApiResponse(int code, boolean success, String message, T data, Map<String, String> errors, String error) {
+        this(code, success, message, data, errors, error, LocalDateTime.now());
+    }
 
     // ==================== MÉTHODES STATIQUES POUR SUCCÈS ====================
 
@@ -57,13 +60,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 200
      */
     public static <T> ApiResponse<T> success(String message, T data) {
-        return ApiResponse.<T>builder()
-                .code(200)
-                .success(true)
-                .message(message)
-                .data(data)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(200, true, message, data, null, null);
     }
 
     /**
@@ -74,12 +71,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 200
      */
     public static <T> ApiResponse<T> success(String message) {
-        return ApiResponse.<T>builder()
-                .code(200)
-                .success(true)
-                .message(message)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(200, true, message, null, null, null);
     }
 
     /**
@@ -91,13 +83,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 201
      */
     public static <T> ApiResponse<T> created(String message, T data) {
-        return ApiResponse.<T>builder()
-                .code(201)
-                .success(true)
-                .message(message)
-                .data(data)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(201, true, message, data, null, null);
     }
 
     /**
@@ -108,12 +94,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 204
      */
     public static <T> ApiResponse<T> noContent(String message) {
-        return ApiResponse.<T>builder()
-                .code(204)
-                .success(true)
-                .message(message)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(204, true, message, null, null, null);
     }
 
     // ==================== MÉTHODES STATIQUES POUR ERREURS ====================
@@ -128,13 +109,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut d'erreur
      */
     public static <T> ApiResponse<T> error(int code, String message, String error) {
-        return ApiResponse.<T>builder()
-                .code(code)
-                .success(false)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(code, false, message, null, null, error);
     }
 
     /**
@@ -146,13 +121,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 400
      */
     public static <T> ApiResponse<T> badRequest(String message, String error) {
-        return ApiResponse.<T>builder()
-                .code(400)
-                .success(false)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(400, false, message, null, null, error);
     }
 
     /**
@@ -164,13 +133,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 400 et erreurs détaillées
      */
     public static <T> ApiResponse<T> validationError(String message, Map<String, String> errors) {
-        return ApiResponse.<T>builder()
-                .code(400)
-                .success(false)
-                .message(message)
-                .errors(errors)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(400, false, message, null, errors, null);
     }
 
     /**
@@ -182,13 +145,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 401
      */
     public static <T> ApiResponse<T> unauthorized(String message, String error) {
-        return ApiResponse.<T>builder()
-                .code(401)
-                .success(false)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(401, false, message, null, null, error);
     }
 
     /**
@@ -200,13 +157,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 403
      */
     public static <T> ApiResponse<T> forbidden(String message, String error) {
-        return ApiResponse.<T>builder()
-                .code(403)
-                .success(false)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(403, false, message, null, null, error);
     }
 
     /**
@@ -218,13 +169,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 404
      */
     public static <T> ApiResponse<T> notFound(String message, String error) {
-        return ApiResponse.<T>builder()
-                .code(404)
-                .success(false)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(404, false, message, null, null, error);
     }
 
     /**
@@ -236,13 +181,7 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 409
      */
     public static <T> ApiResponse<T> conflict(String message, String error) {
-        return ApiResponse.<T>builder()
-                .code(409)
-                .success(false)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(409, false, message, null, null, error);
     }
 
     /**
@@ -254,13 +193,31 @@ public class ApiResponse<T> {
      * @return ApiResponse avec statut 500
      */
     public static <T> ApiResponse<T> internalError(String message, String error) {
-        return ApiResponse.<T>builder()
-                .code(500)
-                .success(false)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(500, false, message, null, null, error);
+    }
+
+    /**
+     * Crée une réponse de limitation de débit (429)
+     * 
+     * @param message Message d'erreur
+     * @param error   Détails de l'erreur
+     * @param <T>     Type de données
+     * @return ApiResponse avec statut 429
+     */
+    public static <T> ApiResponse<T> tooManyRequests(String message, String error) {
+        return new ApiResponse<>(429, false, message, null, null, error);
+    }
+
+    /**
+     * Crée une réponse Service Unavailable (503)
+     *
+     * @param message Message d'erreur
+     * @param error   Détails de l'erreur
+     * @param <T>     Type de données
+     * @return ApiResponse avec statut 503
+     */
+    public static <T> ApiResponse<T> serviceUnavailable(String message, String error) {
+        return new ApiResponse<>(503, false, message, null, null, error);
     }
 
     // ==================== MÉTHODES UTILITAIRES ====================
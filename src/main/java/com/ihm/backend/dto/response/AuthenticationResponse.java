@@ -43,6 +43,12 @@ public class AuthenticationResponse {
     private LocalDateTime lastLogin;
     
     private String token;
+
+    /** Refresh token opaque à présenter sur /api/v1/auth/refresh ; à usage unique */
+    private String refreshToken;
+
+    /** Durée de vie du token d'accès, en secondes */
+    private Long expiresIn;
     
     /**
      * Convertit une entité User en AuthenticationResponse
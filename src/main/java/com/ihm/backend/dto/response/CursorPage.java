@@ -0,0 +1,35 @@
+package com.ihm.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page lue par clé (keyset) : pas de total ni d'OFFSET, la page suivante reprend après
+ * la dernière clé renvoyée, à coût constant quelle que soit la profondeur
+ *
+ * @param <T> Type de contenu paginé
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Réponse paginée par curseur")
+public class CursorPage<T> {
+
+    @Schema(description = "Contenu de la page")
+    private List<T> content;
+
+    @Schema(description = "Taille demandée", example = "50")
+    private int size;
+
+    @Schema(description = "Curseur à passer en paramètre after pour la page suivante, absent sur la dernière page")
+    private String nextCursor;
+
+    @Schema(description = "Indique s'il y a une page suivante")
+    private boolean hasNext;
+}
@@ -0,0 +1,46 @@
+package com.ihm.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ihm.backend.enums.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ligne de la liste d'inscrits exportée par l'enseignant : l'enrôlement et l'identité de l'étudiant.
+ * Construit directement par une expression constructeur JPQL
+ * (voir EnrollmentRepository#streamRosterByCourseId), l'ordre des champs
+ * doit donc rester celui de la requête.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RosterRow {
+
+    private Long enrollmentId;
+
+    private UUID studentId;
+
+    private String email;
+
+    private String firstName;
+
+    private String lastName;
+
+    private EnrollmentStatus status;
+
+    private Double progress;    // 0-100
+
+    private Boolean completed;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime enrolledAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime lastAccessed;
+}
@@ -0,0 +1,47 @@
+package com.ihm.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ihm.backend.enums.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de la page d'accueil étudiant : un enrôlement joint au résumé du cours
+ * et au nom de l'auteur. Construit directement par une expression constructeur JPQL
+ * (voir EnrollmentRepository#findCourseSummariesByUserId), l'ordre des champs
+ * doit donc rester celui de la requête.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentCourseSummary {
+
+    private Long enrollmentId;
+
+    private Integer courseId;
+
+    private String title;
+
+    private String category;
+
+    private String image;       // Mappé depuis coverImage
+
+    private String authorName;  // Prénom + nom de l'auteur
+
+    private EnrollmentStatus status;
+
+    private Double progress;    // 0-100
+
+    private Boolean completed;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime enrolledAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime lastAccessed;
+}
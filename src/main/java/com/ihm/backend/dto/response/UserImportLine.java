@@ -0,0 +1,45 @@
+package com.ihm.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ligne du rapport d'import (NDJSON) : une par ligne du CSV (type "row"), puis un bilan (type "summary").
+ * Les lignes d'un lot ne sont émises qu'une fois le lot commité : la dernière ligne reçue
+ * donne l'endroit où reprendre (paramètre fromRow = row + 1).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportLine {
+
+    public static final String CREATED = "created";
+    public static final String EXISTING = "existing";
+    public static final String DUPLICATE = "duplicate";
+    public static final String INVALID = "invalid";
+
+    private String type;
+
+    // === Ligne du CSV ===
+    private Long row;           // Numéro de la ligne de données, en-tête exclu, à partir de 1
+    private String email;
+    private String status;      // created, existing (déjà inscrit), duplicate (répété dans le fichier), invalid
+    private String message;
+
+    // === Bilan ===
+    private Long lastRow;
+    private Long created;
+    private Long existing;
+    private Long duplicates;
+    private Long invalid;
+    private Long durationMs;
+
+    public static UserImportLine row(long row, String email, String status, String message) {
+        return UserImportLine.builder().type("row").row(row).email(email).status(status).message(message).build();
+    }
+}
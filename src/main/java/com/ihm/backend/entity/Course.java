@@ -4,25 +4,40 @@ import java.time.LocalDateTime;
 
 import com.ihm.backend.enums.CourseStatus;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
+@NamedEntityGraph(name = Course.WITH_AUTHOR, attributeNodes = @NamedAttributeNode("author"))
 public class Course {
+
+    /** Graphe chargeant l'auteur avec le cours (écrans qui affichent l'auteur) */
+    public static final String WITH_AUTHOR = "Course.author";
+
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -31,7 +46,7 @@ public class Course {
     private String description;
     @Enumerated(value = EnumType.STRING)
     private CourseStatus status;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User author;
     private LocalDateTime createdAt;
     private LocalDateTime publishedAt;
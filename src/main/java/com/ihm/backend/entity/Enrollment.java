@@ -7,7 +7,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -19,18 +21,32 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "enrollments")
+@NamedEntityGraph(name = Enrollment.WITH_COURSE_AND_AUTHOR,
+        attributeNodes = @NamedAttributeNode(value = "course", subgraph = "course.author"),
+        subgraphs = @NamedSubgraph(name = "course.author", attributeNodes = @NamedAttributeNode("author")))
+@NamedEntityGraph(name = Enrollment.WITH_USER, attributeNodes = @NamedAttributeNode("user"))
 public class Enrollment {
 
+    /** Graphe chargeant le cours et son auteur (contrôle de propriété, affichage du cours) */
+    public static final String WITH_COURSE_AND_AUTHOR = "Enrollment.courseAndAuthor";
+
+    /** Graphe chargeant l'étudiant (listes d'inscrits côté enseignant) */
+    public static final String WITH_USER = "Enrollment.user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user; // L'étudiant enrôlé (role doit être STUDENT)
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Course course; // Le cours
 
     @CreationTimestamp
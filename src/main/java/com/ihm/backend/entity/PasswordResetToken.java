@@ -21,8 +21,9 @@ public class PasswordResetToken {
     @Column(columnDefinition = "uuid", updatable = false, nullable = false)
     private UUID id;
 
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    /** SHA-256 du token envoyé par email (32 octets) : aucun token en clair dans la base */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @Column(name = "user_id", nullable = false, updatable = false)
     private UUID userId;
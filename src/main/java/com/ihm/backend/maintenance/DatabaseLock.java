@@ -0,0 +1,58 @@
+package com.ihm.backend.maintenance;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Verrou consultatif PostgreSQL (pg_try_advisory_lock) : une tâche planifiée ne tourne que sur une instance.
+ * Le verrou est tenu par une connexion dédiée et libéré avec elle, même si l'instance tombe.
+ * Sur une autre base (H2 des tests), la tâche s'exécute sans verrou.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatabaseLock {
+
+    private final DataSource dataSource;
+
+    /**
+     * @return false si une autre instance détient déjà le verrou
+     */
+    public boolean tryRun(String name, Runnable task) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                task.run();
+                return true;
+            }
+            long key = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+            if (!call(connection, "select pg_try_advisory_lock(?)", key)) {
+                log.debug("Verrou {} détenu par une autre instance", name);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                call(connection, "select pg_advisory_unlock(?)", key);
+            }
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
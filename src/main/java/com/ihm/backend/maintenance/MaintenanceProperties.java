@@ -0,0 +1,19 @@
+package com.ihm.backend.maintenance;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tâches de maintenance planifiées (app.maintenance.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.maintenance")
+public class MaintenanceProperties {
+
+    /** Active la planification ; les tâches restent appelables directement */
+    private boolean enabled = true;
+    /** Lignes supprimées par transaction : verrous et WAL courts, pas de pause de la table */
+    private int batchSize = 1_000;
+}
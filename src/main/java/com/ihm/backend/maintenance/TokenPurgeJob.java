@@ -0,0 +1,95 @@
+package com.ihm.backend.maintenance;
+
+import com.ihm.backend.repository.PasswordResetTokenRepository;
+import com.ihm.backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * Purge les tokens de réinitialisation expirés ou utilisés et les refresh tokens expirés,
+ * par lots d'une transaction chacun, sur une seule instance à la fois.
+ * Lignes supprimées : xccm.maintenance.purged{table}.
+ */
+@Slf4j
+@Component
+public class TokenPurgeJob {
+
+    public static final String PURGED = "xccm.maintenance.purged";
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final DatabaseLock databaseLock;
+    private final MaintenanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter passwordResetPurged;
+    private final Counter refreshPurged;
+
+    public TokenPurgeJob(PasswordResetTokenRepository passwordResetTokenRepository,
+                         RefreshTokenRepository refreshTokenRepository, DatabaseLock databaseLock,
+                         MaintenanceProperties properties, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.databaseLock = databaseLock;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordResetPurged = purged(meterRegistry, "password_reset_tokens");
+        this.refreshPurged = purged(meterRegistry, "refresh_tokens");
+    }
+
+    @Scheduled(cron = "${app.maintenance.token-purge-cron:0 17 * * * *}")
+    public void run() {
+        try {
+            if (!databaseLock.tryRun("token-purge", this::purge)) {
+                log.debug("Purge des tokens déjà en cours sur une autre instance");
+            }
+        } catch (SQLException e) {
+            log.error("Purge des tokens impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Exécute la purge sans prendre le verrou
+     */
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        long resetTokens = purgeInBatches(passwordResetTokenRepository::deleteExpiredOrUsedBatch, now,
+                passwordResetPurged);
+        long refreshTokens = purgeInBatches(refreshTokenRepository::deleteExpiredBatch, now, refreshPurged);
+        if (resetTokens + refreshTokens > 0) {
+            log.info("Purge des tokens : {} de réinitialisation, {} de rafraîchissement", resetTokens, refreshTokens);
+        }
+    }
+
+    /**
+     * Un lot par transaction jusqu'à un lot incomplet : aucune transaction ne verrouille toute la table
+     */
+    private long purgeInBatches(BiFunction<LocalDateTime, Integer, Integer> deleteBatch, LocalDateTime now,
+                                Counter counter) {
+        long total = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(status -> deleteBatch.apply(now, properties.getBatchSize()));
+            deleted = batch != null ? batch : 0;
+            counter.increment(deleted);
+            total += deleted;
+        } while (deleted == properties.getBatchSize());
+        return total;
+    }
+
+    private static Counter purged(MeterRegistry meterRegistry, String table) {
+        return Counter.builder(PURGED)
+                .description("Lignes supprimées par les tâches de maintenance")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
@@ -6,11 +6,14 @@ import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.hibernate.Hibernate;
 
 import com.ihm.backend.dto.request.CourseCreateRequest;
 import com.ihm.backend.dto.request.CourseUpdateRequest;
 import com.ihm.backend.dto.response.CourseResponse;
 import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.User;
 
 @Mapper(componentModel = "spring")
 public interface CourseMapper{
@@ -19,7 +22,17 @@ public interface CourseMapper{
     @Mapping(target = "createdAt",expression = "java(java.time.LocalDateTime.now())")
     Course toEntity(CourseCreateRequest course);
 
+    @Mapping(target = "author", source = "author", qualifiedByName = "unproxy")
     CourseResponse toResponse(Course course);
     List<CourseResponse> toResponse(List<Course> courses);
     void updateEntity(CourseUpdateRequest dto, @MappingTarget Course entity);
+
+    /**
+     * Un cours servi par le cache de second niveau référence son auteur via un proxy :
+     * on expose l'entité réelle (à appeler dans une transaction, l'auteur vient lui aussi du cache)
+     */
+    @Named("unproxy")
+    default User unproxy(User author) {
+        return (User) Hibernate.unproxy(author);
+    }
 }
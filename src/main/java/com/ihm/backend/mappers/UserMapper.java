@@ -41,6 +41,8 @@ public interface UserMapper {
         return String.join(",", value);
     }
 
+    @Mapping(source = "active", target = "isActive")
+    @Mapping(source = "verified", target = "isVerified")
     UserDto toDto(User user);
     
     User toEntity(UserDto dto); 
@@ -0,0 +1,83 @@
+package com.ihm.backend.monitoring;
+
+import com.ihm.backend.enums.EnrollmentStatus;
+import com.ihm.backend.enums.UserRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compteurs métier exportés sur /actuator/prometheus (les points deviennent des underscores, suffixe _total)
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessMetrics {
+
+    public static final String LOGINS = "xccm.auth.logins";
+    public static final String REGISTRATIONS = "xccm.auth.registrations";
+    public static final String ENROLLMENTS = "xccm.enrollments";
+    public static final String EMAILS = "xccm.emails";
+    public static final String IMPORTED_USERS = "xccm.users.imported";
+
+    private final MeterRegistry meterRegistry;
+
+    public void loginSucceeded() {
+        counter(LOGINS, "Tentatives de connexion", "outcome", "success").increment();
+    }
+
+    public void loginFailed() {
+        counter(LOGINS, "Tentatives de connexion", "outcome", "failure").increment();
+    }
+
+    public void registered(UserRole role) {
+        counter(REGISTRATIONS, "Inscriptions réussies", "role", role.name()).increment();
+    }
+
+    /**
+     * Lignes d'un import d'utilisateurs, par résultat (created, existing, duplicate, invalid)
+     */
+    public void usersImported(String status, long rows) {
+        counter(IMPORTED_USERS, "Lignes d'import d'utilisateurs traitées", "status", status).increment(rows);
+    }
+
+    public void enrollmentRequested() {
+        enrollment("requested");
+    }
+
+    public void enrollmentStatusChanged(EnrollmentStatus status) {
+        enrollment(status.name().toLowerCase());
+    }
+
+    public void enrollmentCompleted() {
+        enrollment("completed");
+    }
+
+    public void emailSent(String type) {
+        email(type, "sent");
+    }
+
+    public void emailFailed(String type) {
+        email(type, "failed");
+    }
+
+    private void enrollment(String event) {
+        counter(ENROLLMENTS, "Événements d'enrôlement", "event", event).increment();
+    }
+
+    private void email(String type, String outcome) {
+        Counter.builder(EMAILS)
+                .description("Emails envoyés ou en échec")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Counter counter(String name, String description, String tagKey, String tagValue) {
+        return Counter.builder(name)
+                .description(description)
+                .tag(tagKey, tagValue)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ihm.backend.monitoring;
+
+import com.ihm.backend.monitoring.jfr.MailSendEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Un span et un événement JFR par envoi SMTP (JavaMailSender.send) : la latence du serveur de mail apparaît dans la trace
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MailObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(* org.springframework.mail.MailSender+.send(..))")
+    public Object observeSend(ProceedingJoinPoint joinPoint) throws Throwable {
+        Observation observation = Observation.createNotStarted("xccm.mail.send", observationRegistry)
+                .contextualName("smtp-send")
+                .start();
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = joinPoint.proceed();
+            event.success = true;
+            return result;
+        } catch (Throwable t) {
+            observation.error(t);
+            event.exception = t.getClass().getName();
+            throw t;
+        } finally {
+            event.commit();
+            observation.stop();
+        }
+    }
+}
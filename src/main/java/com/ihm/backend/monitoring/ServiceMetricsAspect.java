@@ -0,0 +1,72 @@
+package com.ihm.backend.monitoring;
+
+import com.ihm.backend.dto.response.ApiResponse;
+import com.ihm.backend.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chronomètre chaque méthode publique des services métier : xccm.service.calls{class, method, outcome, exception}
+ * <ul>
+ *   <li>success : retour normal</li>
+ *   <li>failure : refus métier (ApiResponse en erreur, ressource absente, accès refusé, requête invalide)</li>
+ *   <li>error : toute autre exception</li>
+ * </ul>
+ * Placé avant la transaction : la durée inclut le commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String SERVICE_CALLS = "xccm.service.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.ihm.backend.service.CourseService.*(..))"
+            + " || execution(public * com.ihm.backend.service.EnrollmentService.*(..))"
+            + " || execution(public * com.ihm.backend.service.AuthServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof ApiResponse<?> response && response.isError()) {
+                outcome = "failure";
+            }
+            return result;
+        } catch (Throwable t) {
+            outcome = isRejection(t) ? "failure" : "error";
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_CALLS)
+                    .description("Durée des appels aux services métier")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static boolean isRejection(Throwable t) {
+        return t instanceof ResourceNotFoundException
+                || t instanceof AccessDeniedException
+                || t instanceof java.nio.file.AccessDeniedException
+                || t instanceof AuthenticationException
+                || t instanceof IllegalArgumentException
+                || t instanceof IllegalStateException;
+    }
+}
@@ -0,0 +1,150 @@
+package com.ihm.backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publie le nombre et la durée des requêtes SQL de chaque requête HTTP, par endpoint :
+ * xccm.http.sql.statements et xccm.http.sql.time{method, uri}.
+ * Placé avant la sécurité : le chargement de l'utilisateur par le filtre JWT est compté.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "app.sql-metrics", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS = "xccm.http.sql.statements";
+    public static final String TIME = "xccm.http.sql.time";
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlMetricsProperties properties;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        SqlHeadersResponse headers = properties.isResponseHeaders() ? new SqlHeadersResponse(response, stats) : null;
+        try {
+            filterChain.doFilter(request, headers != null ? headers : response);
+        } finally {
+            SqlRequestStats.end();
+            if (headers != null) {
+                headers.writeHeaders();
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder(STATEMENTS)
+                .description("Requêtes SQL exécutées par requête HTTP")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder(TIME)
+                .description("Temps passé en base par requête HTTP")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > properties.getStatementBudget()) {
+            log.warn("{} {} : {} requêtes SQL ({} ms) pour un budget de {}", request.getMethod(),
+                    request.getRequestURI(), stats.statements(), millis(stats), properties.getStatementBudget());
+        }
+    }
+
+    private static String millis(SqlRequestStats stats) {
+        return String.format(Locale.ROOT, "%.2f", stats.elapsedNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Pose les en-têtes juste avant l'écriture du corps : open-in-view étant désactivé,
+     * les requêtes SQL sont terminées quand le contrôleur sérialise sa réponse
+     */
+    private static final class SqlHeadersResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean written;
+
+        SqlHeadersResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(stats.statements()));
+            setHeader(TIME_HEADER, millis(stats));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
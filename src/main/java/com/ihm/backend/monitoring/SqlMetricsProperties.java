@@ -0,0 +1,21 @@
+package com.ihm.backend.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comptage des requêtes SQL par requête HTTP (app.sql-metrics.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sql-metrics")
+public class SqlMetricsProperties {
+
+    /** Enveloppe la DataSource et publie xccm.http.sql.* */
+    private boolean enabled = true;
+    /** En-têtes X-SQL-Statements et X-SQL-Time-Ms sur chaque réponse (désactivés en prod) */
+    private boolean responseHeaders = true;
+    /** Au-delà, la requête est journalisée en WARN : signe d'un N+1 */
+    private int statementBudget = 20;
+}
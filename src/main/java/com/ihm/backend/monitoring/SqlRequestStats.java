@@ -0,0 +1,45 @@
+package com.ihm.backend.monitoring;
+
+/**
+ * Requêtes SQL exécutées par la requête HTTP en cours sur ce thread (un thread, virtuel ou non, par requête)
+ */
+final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedNanos;
+    private long startedAt;
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** Null hors requête HTTP (tâches planifiées, @Async, démarrage) */
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void queryStarted() {
+        startedAt = System.nanoTime();
+    }
+
+    void queryFinished() {
+        statements++;
+        elapsedNanos += System.nanoTime() - startedAt;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long elapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ihm.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Construction des cours enrichis (cours + auteur + enrôlement de l'utilisateur)
+ */
+@Name("xccm.CourseEnrichment")
+@Label("Enrichissement de cours")
+@Category({ "XCCM", "Cours" })
+@Description("Chargement d'un ou plusieurs cours enrichis de l'enrôlement de l'utilisateur")
+public class CourseEnrichmentEvent extends Event {
+
+    @Label("Cours")
+    @Description("Identifiant du cours, 0 pour le catalogue")
+    public int courseId;
+
+    @Label("Utilisateur")
+    public String userId;
+
+    @Label("Nombre de cours")
+    public int courseCount;
+}
@@ -0,0 +1,46 @@
+package com.ihm.backend.monitoring.jfr;
+
+import com.ihm.backend.entity.Enrollment;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Écriture d'un enrôlement (création, progression, complétion, validation), enregistrée si elle aboutit
+ */
+@Name("xccm.EnrollmentWrite")
+@Label("Écriture d'enrôlement")
+@Category({ "XCCM", "Enrôlements" })
+@Description("Création ou mise à jour d'un enrôlement")
+public class EnrollmentWriteEvent extends Event {
+
+    @Label("Opération")
+    public String operation;
+
+    @Label("Enrôlement")
+    public long enrollmentId;
+
+    @Label("Cours")
+    public int courseId;
+
+    @Label("Utilisateur")
+    public String userId;
+
+    public static EnrollmentWriteEvent start(String operation) {
+        EnrollmentWriteEvent event = new EnrollmentWriteEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void end(Enrollment enrollment) {
+        if (shouldCommit()) {
+            enrollmentId = enrollment.getId();
+            courseId = enrollment.getCourse().getId();
+            userId = enrollment.getUser().getId().toString();
+        }
+        commit();
+    }
+}
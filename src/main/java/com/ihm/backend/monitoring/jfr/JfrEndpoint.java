@@ -0,0 +1,120 @@
+package com.ihm.backend.monitoring.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enregistrements JDK Flight Recorder à la demande (réservé aux administrateurs, voir SecurityConfig)
+ * <ul>
+ *   <li>GET /actuator/jfr : enregistrements en cours</li>
+ *   <li>POST /actuator/jfr {"settings": "profile", "duration": "60s"} : démarre un enregistrement</li>
+ *   <li>GET /actuator/jfr/{id} : télécharge les données enregistrées jusqu'ici, sans arrêter l'enregistrement</li>
+ *   <li>DELETE /actuator/jfr/{id} : arrête et supprime l'enregistrement</li>
+ * </ul>
+ * Les événements JDK (allocations, verrous, échantillons CPU) suivent le paramétrage choisi,
+ * les événements xccm.* sont toujours activés avec leur pile d'appel.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(JwtVerificationEvent.class,
+            CourseEnrichmentEvent.class, EnrollmentWriteEvent.class, MailSendEvent.class);
+
+    /** Seuls les enregistrements démarrés ici sont exposés */
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(RecordingDescriptor::of)
+                .toList();
+    }
+
+    /**
+     * @param settings paramétrage JFR du JDK : "default" (surcoût ~1 %) ou "profile" (~2 %, allocations et verrous détaillés)
+     * @param duration arrêt automatique, illimité par défaut (l'enregistrement reste téléchargeable)
+     */
+    @WriteOperation
+    public RecordingDescriptor start(@Nullable String settings, @Nullable Duration duration)
+            throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration(settings != null ? settings : "profile"));
+        APPLICATION_EVENTS.forEach(event -> recording.enable(event).withStackTrace());
+        recording.setName("xccm-" + Instant.now());
+        recording.setToDisk(true);
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Enregistrement JFR {} démarré ({}, durée {})", recording.getId(), recording.getName(),
+                duration != null ? duration : "illimitée");
+        return RecordingDescriptor.of(recording);
+    }
+
+    /**
+     * Copie des données enregistrées jusqu'ici : GET sans effet, un nouvel essai renvoie au moins les mêmes données.
+     * Le fichier temporaire est supprimé à la fin du transfert
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource download(@Selector long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return null;
+        }
+        Path file = Files.createTempFile("xccm-" + id + "-", ".jfr");
+        recording.dump(file);
+        log.info("Enregistrement JFR {} téléchargé ({} octets)", id, Files.size(file));
+        return new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+    }
+
+    @DeleteOperation
+    public void discard(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @PreDestroy
+    void closeAll() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    public record RecordingDescriptor(long id, String name, RecordingState state, Instant startTime,
+                                      Duration duration, long size) {
+
+        static RecordingDescriptor of(Recording recording) {
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState(),
+                    recording.getStartTime(), recording.getDuration(), recording.getSize());
+        }
+    }
+}
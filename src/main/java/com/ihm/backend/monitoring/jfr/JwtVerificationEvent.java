@@ -0,0 +1,23 @@
+package com.ihm.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Vérification de signature et lecture des claims d'un token JWT
+ */
+@Name("xccm.JwtVerification")
+@Label("Vérification JWT")
+@Category({ "XCCM", "Sécurité" })
+@Description("Vérification de la signature HMAC et lecture des claims d'un token")
+public class JwtVerificationEvent extends Event {
+
+    @Label("Sujet")
+    public String subject;
+
+    @Label("Valide")
+    public boolean valid;
+}
@@ -0,0 +1,23 @@
+package com.ihm.backend.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Envoi SMTP d'un message par JavaMailSender
+ */
+@Name("xccm.MailSend")
+@Label("Envoi d'email")
+@Category({ "XCCM", "Email" })
+@Description("Appel à JavaMailSender.send, connexion SMTP comprise")
+public class MailSendEvent extends Event {
+
+    @Label("Succès")
+    public boolean success;
+
+    @Label("Exception")
+    public String exception;
+}
@@ -1,17 +1,44 @@
 package com.ihm.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 
 import com.ihm.backend.entity.*;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 import com.ihm.backend.enums.CourseStatus;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course,Integer> {
+
+    /**
+     * Charge le cours avec son auteur : les réponses exposent l'auteur
+     */
+    @Override
+    @EntityGraph(Course.WITH_AUTHOR)
+    Optional<Course> findById(Integer id);
+
+    @EntityGraph(Course.WITH_AUTHOR)
     List<Course> findByAuthor(User author);
+
+    /**
+     * Catalogue par statut : résultat en cache de requêtes, invalidé à chaque écriture sur les cours
+     */
+    @EntityGraph(Course.WITH_AUTHOR)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByStatus(CourseStatus status);
+
+    @EntityGraph(Course.WITH_AUTHOR)
     List<Course> findByStatusAndAuthor(CourseStatus status,User author);
+
+    boolean existsByIdAndAuthor_Id(Integer id, UUID authorId);
 }
@@ -1,12 +1,22 @@
 package com.ihm.backend.repository;
 
+import com.ihm.backend.dto.response.RosterRow;
+import com.ihm.backend.dto.response.StudentCourseSummary;
 import com.ihm.backend.entity.Enrollment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -23,10 +33,52 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByUser_Id(UUID userId);
 
     /**
-     * Trouve tous les enrôlements pour un cours donné
+     * Résumé des cours d'un étudiant (enrôlement + cours + nom de l'auteur) en une seule requête.
+     * Le tri porte sur les champs de l'enrôlement (lastAccessed, enrolledAt, progress).
      */
+    @Query("""
+            select new com.ihm.backend.dto.response.StudentCourseSummary(
+                e.id, c.id, c.title, c.category, c.coverImage, concat(a.firstName, ' ', a.lastName),
+                e.status, e.progress, e.completed, e.enrolledAt, e.lastAccessed)
+            from Enrollment e
+            join e.course c
+            join c.author a
+            where e.user.id = :userId
+            """)
+    List<StudentCourseSummary> findCourseSummariesByUserId(@Param("userId") UUID userId, Sort sort);
+
+    /**
+     * Inscrits d'un cours pour l'export enseignant, lus par paquets de 500 avec un curseur côté serveur :
+     * des projections, aucune entité dans le contexte de persistance, mémoire constante quel que soit l'effectif.
+     * À consommer dans une transaction en lecture seule (le curseur PostgreSQL exige autocommit=false).
+     */
+    @Query("""
+            select new com.ihm.backend.dto.response.RosterRow(
+                e.id, u.id, u.email, u.firstName, u.lastName,
+                e.status, e.progress, e.completed, e.enrolledAt, e.lastAccessed)
+            from Enrollment e
+            join e.user u
+            where e.course.id = :courseId
+            order by u.lastName, u.firstName, e.id
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RosterRow> streamRosterByCourseId(@Param("courseId") Integer courseId);
+
+    /**
+     * Trouve tous les enrôlements pour un cours donné, avec les étudiants
+     */
+    @EntityGraph(Enrollment.WITH_USER)
     List<Enrollment> findByCourse_Id(Integer courseId);
 
+    /**
+     * Trouve un enrôlement avec son cours et l'auteur du cours (contrôle de propriété)
+     */
+    @EntityGraph(Enrollment.WITH_COURSE_AND_AUTHOR)
+    Optional<Enrollment> findWithCourseById(Long id);
+
     /**
      * Vérifie si un utilisateur est déjà enrôlé à un cours
      */
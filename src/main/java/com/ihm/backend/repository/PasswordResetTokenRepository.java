@@ -2,7 +2,13 @@
 package com.ihm.backend.repository;
 
 import com.ihm.backend.entity.PasswordResetToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -12,9 +18,28 @@ import java.util.UUID;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, UUID> {
 
-    Optional<PasswordResetToken> findByToken(String token);
+    /**
+     * Recherche par empreinte : l'index unique porte sur 32 octets, et comparer des empreintes
+     * ne renseigne pas sur le token par le temps de réponse
+     */
+    Optional<PasswordResetToken> findByTokenHash(byte[] tokenHash);
 
-    void deleteAllByExpiryDateBefore(LocalDateTime dateTime);
+    /**
+     * Supprime au plus un lot de tokens expirés ou utilisés (PostgreSQL n'a pas de DELETE ... LIMIT)
+     * Espace de requête déclaré : sans lui, Hibernate vide toutes les régions du cache de second niveau
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_tokens"))
+    @Query(value = """
+            delete from password_reset_tokens where id in (
+                select id from password_reset_tokens where expiry_date < :now or used = true limit :limit)
+            """, nativeQuery = true)
+    int deleteExpiredOrUsedBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 
-    void deleteByUserId(UUID userId);
+    /**
+     * Invalide les tokens d'un utilisateur en une requête, sans les charger
+     */
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
 }
\ No newline at end of file
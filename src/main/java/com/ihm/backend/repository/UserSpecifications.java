@@ -0,0 +1,51 @@
+package com.ihm.backend.repository;
+
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.UserRole;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Critères de l'annuaire administrateur, combinés selon les filtres renseignés.
+ * La recherche par préfixe porte sur lower(email|first_name|last_name), couverts par l'index
+ * trigramme users_search_trgm_idx (voir indexes-postgresql.sql)
+ */
+public final class UserSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> hasRole(UserRole role) {
+        return (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> isActive(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    public static Specification<User> isVerified(boolean verified) {
+        return (root, query, cb) -> cb.equal(root.get("verified"), verified);
+    }
+
+    public static Specification<User> matchesPrefix(String prefix) {
+        String pattern = escapeLike(prefix.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("email")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("firstName")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("lastName")), pattern, LIKE_ESCAPE));
+    }
+
+    /**
+     * Clé de reprise : emails strictement après le dernier de la page précédente (email unique)
+     */
+    public static Specification<User> emailAfter(String email) {
+        return (root, query, cb) -> cb.greaterThan(root.get("email"), email);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,37 @@
+package com.ihm.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Choisit le coût BCrypt dont le hachage dure environ la cible sur la machine courante.
+ * Chaque point de coût double le temps : une mesure au coût de référence suffit.
+ */
+@Slf4j
+final class BCryptCalibration {
+
+    private static final int REFERENCE_STRENGTH = 8;
+    private static final int SAMPLES = 5;
+
+    private BCryptCalibration() {
+    }
+
+    static int calibrate(Duration target, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(REFERENCE_STRENGTH);
+        // Premier hachage écarté : chauffe du JIT
+        BCrypt.hashpw("calibration", salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int strength = REFERENCE_STRENGTH + (int) Math.round(Math.log((double) target.toNanos() / best) / Math.log(2));
+        int chosen = Math.max(minStrength, Math.min(maxStrength, strength));
+        log.info("Coût BCrypt calibré à {} ({} µs au coût {}, cible {} ms)", chosen, best / 1_000,
+                REFERENCE_STRENGTH, target.toMillis());
+        return chosen;
+    }
+}
@@ -1,39 +1,35 @@
 package com.ihm.backend.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ihm.backend.dto.response.ApiResponse;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 @Component
 @RequiredArgsConstructor
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
 
-    private final ObjectMapper objectMapper;
+    private final ErrorResponseWriter errorResponseWriter;
+    private ErrorResponseWriter.PreparedEnvelope forbidden;
+
+    @PostConstruct
+    void prepare() {
+        forbidden = errorResponseWriter.prepare(ApiResponse.forbidden(
+                "Accès refusé",
+                "Vous n'avez pas les permissions nécessaires pour accéder à cette ressource."));
+    }
 
     @Override
     public void handle(HttpServletRequest request,
             HttpServletResponse response,
             AccessDeniedException accessDeniedException) throws IOException, ServletException {
-
-        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
-
-        ApiResponse<Void> apiResponse = ApiResponse.forbidden(
-                "Accès refusé",
-                "Vous n'avez pas les permissions nécessaires pour accéder à cette ressource.");
-
-        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
-        response.getWriter().flush();
+        errorResponseWriter.write(response, forbidden);
     }
 }
@@ -0,0 +1,87 @@
+package com.ihm.backend.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ihm.backend.config.JacksonConfig;
+import com.ihm.backend.dto.response.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Écrit les réponses ApiResponse émises par les filtres de sécurité (401, 403, 429), hors Spring MVC.
+ * Les writers Jackson sont résolus une fois ; les enveloppes constantes sont sérialisées au démarrage
+ * et seul l'horodatage est écrit à chaque réponse.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private static final byte[] TIMESTAMP_FIELD = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectWriter envelopeWriter;
+
+    public ErrorResponseWriter(ObjectMapper objectMapper) {
+        this.envelopeWriter = objectMapper.writerFor(ApiResponse.class);
+    }
+
+    /**
+     * Sérialise une enveloppe sans son horodatage ; la réponse la complète à chaque envoi
+     */
+    public PreparedEnvelope prepare(ApiResponse<?> envelope) {
+        // Copie sans horodatage : l'enveloppe reçue n'est pas modifiée
+        ApiResponse<?> untimed = new ApiResponse<>(envelope.getCode(), envelope.isSuccess(), envelope.getMessage(),
+                envelope.getData(), envelope.getErrors(), envelope.getError(), null);
+        try {
+            byte[] json = envelopeWriter.writeValueAsBytes(untimed);
+            // Horodatage nul donc omis : l'objet se termine par « } », retirée pour insérer le champ
+            return new PreparedEnvelope(envelope.getCode(), Arrays.copyOf(json, json.length - 1));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Enveloppe non sérialisable", e);
+        }
+    }
+
+    public void write(HttpServletResponse response, PreparedEnvelope envelope) throws IOException {
+        prepareResponse(response, envelope.code());
+        response.getOutputStream().write(body(envelope, LocalDateTime.now()));
+    }
+
+    public void write(HttpServletResponse response, ApiResponse<?> envelope) throws IOException {
+        prepareResponse(response, envelope.getCode());
+        response.getOutputStream().write(envelopeWriter.writeValueAsBytes(envelope));
+    }
+
+    /**
+     * Corps complet : l'enveloppe préparée suivie de l'horodatage, au format de l'ObjectMapper
+     * (JacksonConfig.DATE_TIME_FORMATTER, uniquement des caractères ASCII)
+     */
+    public byte[] body(PreparedEnvelope envelope, LocalDateTime timestamp) {
+        String time = JacksonConfig.DATE_TIME_FORMATTER.format(timestamp);
+        byte[] prefix = envelope.prefix();
+        byte[] body = Arrays.copyOf(prefix, prefix.length + TIMESTAMP_FIELD.length + time.length() + 2);
+        System.arraycopy(TIMESTAMP_FIELD, 0, body, prefix.length, TIMESTAMP_FIELD.length);
+        int offset = prefix.length + TIMESTAMP_FIELD.length;
+        byte[] timeBytes = time.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(timeBytes, 0, body, offset, timeBytes.length);
+        body[body.length - 2] = '"';
+        body[body.length - 1] = '}';
+        return body;
+    }
+
+    private static void prepareResponse(HttpServletResponse response, int status) {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * Enveloppe constante sérialisée sans l'accolade finale
+     */
+    public record PreparedEnvelope(int code, byte[] prefix) {
+    }
+}
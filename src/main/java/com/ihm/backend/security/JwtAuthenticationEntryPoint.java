@@ -2,39 +2,37 @@
 
 package com.ihm.backend.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ihm.backend.dto.response.ApiResponse;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper; // Celui avec @Primary
+    private final ErrorResponseWriter errorResponseWriter;
+    private ErrorResponseWriter.PreparedEnvelope unauthorized;
+
+    /**
+     * Réponse la plus fréquente des filtres (token absent ou expiré) : sérialisée une fois
+     */
+    @PostConstruct
+    void prepare() {
+        unauthorized = errorResponseWriter.prepare(
+                ApiResponse.unauthorized("Accès non autorisé", "Token manquant ou invalide"));
+    }
 
     @Override
     public void commence(HttpServletRequest request,
             HttpServletResponse response,
             AuthenticationException authException) throws IOException {
-
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
-
-        ApiResponse<Void> apiResponse = ApiResponse.unauthorized(
-                "Accès non autorisé",
-                authException != null ? authException.getMessage() : "Token manquant ou invalide");
-
-        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
-        response.getWriter().flush();
+        errorResponseWriter.write(response, unauthorized);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.ihm.backend.security;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,9 +17,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.context.annotation.Lazy;
 
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.UserRole;
 import com.ihm.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Lazy)) // ← LIGNE MAGIQUE
@@ -25,6 +31,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final ObservationRegistry observationRegistry;
+    private final RevokedPrincipals revokedPrincipals;
 
     @Override
     protected void doFilterInternal(
@@ -51,22 +59,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            final String userEmail = jwtService.extractUsername(jwt);
-
-            // 3. Authentification si pas déjà faite
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, 
-                            null, 
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
+            // Span dédié : lecture du token et chargement de l'utilisateur, hors reste de la chaîne
+            Observation.createNotStarted("xccm.security.jwt.authentication", observationRegistry)
+                    .contextualName("jwt-authentication")
+                    .observe(() -> authenticate(jwt, request));
         } catch (Exception e) {
             // Log de l'erreur pour le debug interne sans exposer trop de détails
             logger.error("Erreur d'authentification JWT: " + e.getMessage());
@@ -77,4 +73,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void authenticate(String jwt, HttpServletRequest request) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        // 3. Signature et expiration vérifiées en une lecture ; le principal vient des claims
+        UserDetails userDetails = principalFrom(jwtService.parseToken(jwt));
+        if (userDetails == null) {
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, 
+                null, 
+                userDetails.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    /**
+     * Principal construit depuis les claims, sans requête. Un compte désactivé sur cette instance
+     * est refusé aussitôt (null) ; ailleurs il garde l'accès au plus jusqu'à l'expiration
+     * du token d'accès (15 min), ses refresh tokens étant révoqués
+     */
+    private UserDetails principalFrom(Claims claims) {
+        String userId = claims.get(JwtService.USER_ID_CLAIM, String.class);
+        if (userId == null) {
+            // Token émis avant l'ajout du claim uid : principal relu en base jusqu'à son expiration
+            return this.userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        UUID id = UUID.fromString(userId);
+        if (revokedPrincipals.isRevoked(id, claims.getIssuedAt())) {
+            return null;
+        }
+        String authority = claims.get(JwtService.ROLE_CLAIM, String.class);
+        return User.builder()
+                .id(id)
+                .email(claims.getSubject())
+                .role(UserRole.valueOf(authority.substring("ROLE_".length())))
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ihm.backend.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifiants HTTP Basic du collecteur Prometheus sur /actuator/prometheus (app.security.metrics.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.metrics")
+public class MetricsScrapeProperties {
+
+    private String username = "prometheus";
+    /** Secret aléatoire partagé avec Prometheus ; vide, l'endpoint refuse toute requête */
+    private String password = "";
+}
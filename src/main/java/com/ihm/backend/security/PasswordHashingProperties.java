@@ -0,0 +1,30 @@
+package com.ihm.backend.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Coût BCrypt et exécuteur de hachage (app.security.password.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordHashingProperties {
+
+    /** Coût BCrypt imposé ; 0 pour le calibrer au démarrage sur targetHashTime */
+    private int strength = 0;
+    /** Durée visée d'un hachage sur la machine courante */
+    private Duration targetHashTime = Duration.ofMillis(250);
+    /** Bornes du coût calibré : jamais sous le minimum OWASP, même sur une machine lente */
+    private int minStrength = 10;
+    private int maxStrength = 14;
+    /** Hachages simultanés : au-delà du nombre de cœurs, ils ne font que se partager le CPU */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /** Hachages en attente avant rejet (503) */
+    private int queueCapacity = 64;
+    /** Hachages simultanés des imports en masse, sur un pool séparé : la moitié des cœurs reste aux connexions */
+    private int bulkThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+}
@@ -0,0 +1,230 @@
+package com.ihm.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ihm.backend.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Limite les connexions et demandes de réinitialisation par IP puis par email, avant le filtre JWT :
+ * une requête refusée ne coûte ni hachage BCrypt, ni requête SQL, ni email.
+ * Au-delà de la limite : 429 avec Retry-After, et xccm.rate_limit.rejected{endpoint, key}.
+ * Le corps est lu en mémoire dans la limite de app.security.rate-limit.max-body-size : au-delà, 413.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(prefix = "app.security.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED = "xccm.rate_limit.rejected";
+    public static final String KEYS = "xccm.rate_limit.keys";
+
+    private final ObjectMapper objectMapper;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final Map<String, LimitedEndpoint> endpoints;
+    private final int maxBodySize;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper,
+                           ErrorResponseWriter errorResponseWriter, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.errorResponseWriter = errorResponseWriter;
+        this.maxBodySize = Math.toIntExact(properties.getMaxBodySize().toBytes());
+        this.endpoints = Map.of(
+                "/api/v1/auth/login",
+                new LimitedEndpoint("login", properties.getLogin(), properties.getMaxKeys(), meterRegistry),
+                "/api/v1/auth/forgot-password",
+                new LimitedEndpoint("forgot-password", properties.getForgotPassword(), properties.getMaxKeys(),
+                        meterRegistry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !endpoints.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        LimitedEndpoint endpoint = endpoints.get(request.getServletPath());
+
+        // L'IP d'abord : le corps n'est pas lu pour un client déjà limité
+        Duration wait = endpoint.perIp.tryAcquire(request.getRemoteAddr());
+        if (!wait.isZero()) {
+            reject(response, endpoint, endpoint.ipRejections, wait);
+            return;
+        }
+
+        // Content-Length annoncé d'abord, puis lecture bornée pour un corps transmis par morceaux
+        if (request.getContentLengthLong() > maxBodySize) {
+            rejectTooLarge(response, endpoint);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            rejectTooLarge(response, endpoint);
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request, body);
+        String email = email(cached.body);
+        if (email != null) {
+            wait = endpoint.perEmail.tryAcquire(email);
+            if (!wait.isZero()) {
+                reject(response, endpoint, endpoint.emailRejections, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(cached, response);
+    }
+
+    private String email(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException | RuntimeException e) {
+            // Corps illisible : la validation du contrôleur répondra
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, LimitedEndpoint endpoint, Counter rejections, Duration wait)
+            throws IOException {
+        rejections.increment();
+        // Arrondi à la seconde supérieure : un client qui respecte l'en-tête obtient un jeton
+        long retryAfter = Math.max(1, (wait.toMillis() + 999) / 1000);
+        log.debug("Limite atteinte sur {} : nouvel essai dans {} s", endpoint.name, retryAfter);
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        errorResponseWriter.write(response,
+                ApiResponse.tooManyRequests("Trop de tentatives, réessayez dans " + retryAfter + " s", null));
+    }
+
+    private void rejectTooLarge(HttpServletResponse response, LimitedEndpoint endpoint) throws IOException {
+        log.debug("Corps refusé sur {} : plus de {} octets", endpoint.name, maxBodySize);
+        errorResponseWriter.write(response, ApiResponse.error(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                "Corps de requête trop volumineux", "Taille maximale : " + maxBodySize + " octets"));
+    }
+
+    /**
+     * Limites et compteurs d'un endpoint
+     */
+    private static final class LimitedEndpoint {
+
+        private final String name;
+        private final RateLimiter perIp;
+        private final RateLimiter perEmail;
+        private final Counter ipRejections;
+        private final Counter emailRejections;
+
+        LimitedEndpoint(String name, RateLimitProperties.Rule rule, long maxKeys, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.perIp = new RateLimiter(rule.getPerIp(), maxKeys);
+            this.perEmail = new RateLimiter(rule.getPerEmail(), maxKeys);
+            this.ipRejections = rejections(meterRegistry, "ip");
+            this.emailRejections = rejections(meterRegistry, "email");
+            keys(meterRegistry, "ip", perIp);
+            keys(meterRegistry, "email", perEmail);
+        }
+
+        private Counter rejections(MeterRegistry meterRegistry, String key) {
+            return Counter.builder(REJECTED)
+                    .description("Requêtes refusées par la limitation de débit")
+                    .tag("endpoint", name)
+                    .tag("key", key)
+                    .register(meterRegistry);
+        }
+
+        private void keys(MeterRegistry meterRegistry, String key, RateLimiter limiter) {
+            Gauge.builder(KEYS, limiter, RateLimiter::keys)
+                    .description("Clés suivies par la limitation de débit")
+                    .tag("endpoint", name)
+                    .tag("key", key)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Corps lu une fois pour en extraire l'email, puis relu par le contrôleur
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // Corps déjà en mémoire : tout est disponible immédiatement
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
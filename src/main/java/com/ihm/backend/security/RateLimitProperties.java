@@ -0,0 +1,47 @@
+package com.ihm.backend.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Limitation de débit des endpoints d'authentification publics (app.security.rate-limit.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /** Clés suivies au plus par limite : au-delà, les moins récentes sont évincées */
+    private long maxKeys = 100_000;
+    /** Corps lu pour en extraire l'email : au-delà, 413 sans atteindre le contrôleur */
+    private DataSize maxBodySize = DataSize.ofKilobytes(4);
+    /** Chaque connexion coûte un hachage BCrypt */
+    private Rule login = new Rule(new Limit(20, Duration.ofMinutes(1)), new Limit(5, Duration.ofMinutes(1)));
+    /** Chaque demande envoie un email */
+    private Rule forgotPassword = new Rule(new Limit(5, Duration.ofMinutes(15)), new Limit(3, Duration.ofHours(1)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private Limit perIp;
+        private Limit perEmail;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /** Requêtes acceptées d'affilée */
+        private int capacity;
+        /** Durée pour regagner toute la capacité */
+        private Duration period;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ihm.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Un seau par clé (IP ou email) dans un cache borné : un seau inutilisé pendant une période
+ * est plein, il peut donc être évincé sans changer le résultat
+ */
+final class RateLimiter {
+
+    private final int capacity;
+    private final long periodNanos;
+    private final Cache<String, TokenBucket> buckets;
+
+    RateLimiter(RateLimitProperties.Limit limit, long maxKeys) {
+        this.capacity = limit.getCapacity();
+        this.periodNanos = limit.getPeriod().toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(limit.getPeriod())
+                .build();
+    }
+
+    /**
+     * @return Duration.ZERO si la requête passe, sinon l'attente avant le prochain jeton
+     */
+    Duration tryAcquire(String key) {
+        long now = System.nanoTime();
+        long wait = buckets.get(key, k -> new TokenBucket(capacity, periodNanos, now)).tryConsume(now);
+        return Duration.ofNanos(wait);
+    }
+
+    long keys() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ihm.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ihm.backend.service.JwtService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Comptes désactivés dont des tokens d'accès peuvent encore circuler : le principal étant lu
+ * dans les claims, sans requête, ces tokens sont refusés jusqu'à leur expiration naturelle.
+ * Une entrée n'a pas à survivre au-delà de la durée de vie d'un token d'accès.
+ * Registre local à l'instance : sur plusieurs instances, seuls les refresh tokens révoqués
+ * en base bornent l'accès (au plus la durée d'un token d'accès).
+ */
+@Component
+public class RevokedPrincipals {
+
+    private final Cache<UUID, Long> revokedAt;
+
+    public RevokedPrincipals(JwtService jwtService) {
+        this.revokedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(jwtService.getAccessTokenTtlSeconds()))
+                .build();
+    }
+
+    public void revoke(UUID userId) {
+        revokedAt.put(userId, System.currentTimeMillis());
+    }
+
+    public void restore(UUID userId) {
+        revokedAt.invalidate(userId);
+    }
+
+    /**
+     * @return true si le token a été émis avant la désactivation du compte
+     */
+    public boolean isRevoked(UUID userId, Date issuedAt) {
+        Long revokedMillis = revokedAt.getIfPresent(userId);
+        // iat est à la seconde : un token émis dans la seconde de la désactivation est refusé
+        return revokedMillis != null && (issuedAt == null || issuedAt.getTime() <= revokedMillis);
+    }
+}
@@ -1,14 +1,19 @@
 package com.ihm.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -18,8 +23,11 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.ihm.backend.security.JwtAuthenticationFilter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -39,6 +47,29 @@ public class SecurityConfig {
         this.customAccessDeniedHandler = customAccessDeniedHandler;
     }
 
+    /**
+     * /actuator/prometheus : HTTP Basic du collecteur (app.security.metrics.*), jamais public.
+     * Chaîne séparée : Prometheus ne sait pas renouveler un token d'accès JWT de 15 minutes
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsSecurityFilterChain(HttpSecurity http, MetricsScrapeProperties properties)
+            throws Exception {
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"))
+            .authenticationManager(scraperAuthentication(properties))
+            .httpBasic(basic -> basic.authenticationEntryPoint(jwtAuthenticationEntryPoint))
+            .exceptionHandling(exception -> exception
+                .authenticationEntryPoint(jwtAuthenticationEntryPoint)
+                .accessDeniedHandler(customAccessDeniedHandler));
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -48,6 +79,9 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // === FIN DES RÉPONSES DIFFÉRÉES (exports en flux) : déjà autorisées à la requête initiale ===
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // === SWAGGER/OPENAPI - ACCÈS PUBLIC ===
                 .requestMatchers(
                     "/",
@@ -75,6 +109,9 @@ public class SecurityConfig {
                     "/courses/**"
                 ).permitAll()
                 
+                // === PROFILAGE JFR ET ADMINISTRATION - ADMINISTRATEURS UNIQUEMENT ===
+                .requestMatchers("/actuator/jfr/**", "/api/v1/admin/**").hasRole("ADMIN")
+
                 // === TOUTES LES AUTRES ROUTES NÉCESSITENT AUTHENTIFICATION ===
                 .anyRequest().authenticated())
             .exceptionHandling(exception -> exception
@@ -117,9 +154,19 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Hachages préfixés {bcrypt} au coût calibré ; les anciens hachages sans préfixe restent vérifiables
+     * et sont refaits à la connexion (voir PasswordHashingService.needsRehash)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        int strength = properties.getStrength() > 0 ? properties.getStrength()
+                : BCryptCalibration.calibrate(properties.getTargetHashTime(), properties.getMinStrength(),
+                        properties.getMaxStrength());
+        CalibratedBCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -128,6 +175,22 @@ public class SecurityConfig {
                 .orElseThrow(() -> new org.springframework.security.core.userdetails.UsernameNotFoundException("Utilisateur non trouvé"));
     }
 
+    /**
+     * Comparaison en temps constant avec le secret configuré : pas de BCrypt à chaque collecte
+     */
+    private AuthenticationManager scraperAuthentication(MetricsScrapeProperties properties) {
+        byte[] expected = properties.getPassword().getBytes(StandardCharsets.UTF_8);
+        return authentication -> {
+            byte[] presented = String.valueOf(authentication.getCredentials()).getBytes(StandardCharsets.UTF_8);
+            if (expected.length == 0 || !properties.getUsername().equals(authentication.getName())
+                    || !MessageDigest.isEqual(expected, presented)) {
+                throw new BadCredentialsException("Identifiants du collecteur invalides");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null,
+                    AuthorityUtils.createAuthorityList("ROLE_METRICS"));
+        };
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(
             AuthenticationConfiguration authenticationConfiguration) throws Exception {
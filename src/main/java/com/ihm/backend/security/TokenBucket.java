@@ -0,0 +1,43 @@
+package com.ihm.backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou, sous sa forme GCRA : un seul horodatage (instant théorique d'arrivée)
+ * remplace le couple jetons / dernier remplissage, et se met à jour par compareAndSet
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long periodNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param capacity    jetons disponibles d'un coup (seau plein)
+     * @param periodNanos durée pour remplir entièrement le seau
+     */
+    TokenBucket(int capacity, long periodNanos, long nowNanos) {
+        this.intervalNanos = periodNanos / capacity;
+        this.periodNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consomme un jeton
+     *
+     * @return 0 si le jeton est accordé, sinon l'attente en nanosecondes avant le prochain jeton
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - periodNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
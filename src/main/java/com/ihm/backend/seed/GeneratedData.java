@@ -0,0 +1,32 @@
+package com.ihm.backend.seed;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Résumé d'une génération : permet de retrouver les comptes et les cours créés
+ *
+ * @param emailPrefix        préfixe des emails de la génération
+ * @param teachers           enseignants créés
+ * @param students           étudiants créés
+ * @param courses            cours créés
+ * @param publishedCourseIds identifiants des cours publiés
+ * @param enrollments        enrôlements créés
+ * @param elapsed            durée totale
+ */
+public record GeneratedData(String emailPrefix,
+                            int teachers,
+                            int students,
+                            int courses,
+                            List<Integer> publishedCourseIds,
+                            long enrollments,
+                            Duration elapsed) {
+
+    public String teacherEmail(int index) {
+        return emailPrefix + "-teacher" + index + "@xccm.test";
+    }
+
+    public String studentEmail(int index) {
+        return emailPrefix + "-student" + index + "@xccm.test";
+    }
+}
@@ -0,0 +1,23 @@
+package com.ihm.backend.seed;
+
+/**
+ * Volumes et distributions d'une génération de données
+ *
+ * @param teachers       enseignants générés
+ * @param students       étudiants générés
+ * @param courses        cours générés (publiés, brouillons, archivés)
+ * @param enrollments    enrôlements visés, uniquement sur des cours publiés
+ * @param teacherSkew    exposant de Zipf de la productivité des enseignants (0 = uniforme)
+ * @param popularitySkew exposant de Zipf de la popularité des cours (0 = uniforme)
+ * @param password       mot de passe en clair commun à tous les comptes générés
+ * @param randomSeed     graine aléatoire : même plan, mêmes distributions (les identifiants changent)
+ */
+public record SeedPlan(int teachers,
+                       int students,
+                       int courses,
+                       long enrollments,
+                       double teacherSkew,
+                       double popularitySkew,
+                       String password,
+                       long randomSeed) {
+}
@@ -0,0 +1,32 @@
+package com.ihm.backend.seed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paramètres du profil seed (application-seed.properties), surchargeables en ligne de commande
+ */
+@Data
+@Component
+@Profile("seed")
+@ConfigurationProperties(prefix = "seed")
+public class SeedProperties {
+
+    private int teachers = 10_000;
+    private int students = 990_000;
+    private int courses = 100_000;
+    private long enrollments = 10_000_000;
+    private double teacherSkew = 1.1;
+    private double popularitySkew = 1.0;
+    private String password = "Seed#2024";
+    private long randomSeed = 42;
+    /** Arrête l'application une fois la génération terminée */
+    private boolean exitAfter = true;
+
+    public SeedPlan toPlan() {
+        return new SeedPlan(teachers, students, courses, enrollments, teacherSkew, popularitySkew, password,
+                randomSeed);
+    }
+}
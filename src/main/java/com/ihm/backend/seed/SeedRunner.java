@@ -0,0 +1,37 @@
+package com.ihm.backend.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lance la génération au démarrage du profil seed :
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=seed -Dspring-boot.run.arguments=--seed.courses=5000
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class SeedRunner implements CommandLineRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final SeedProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(String... args) throws Exception {
+        GeneratedData data = generator.generate(properties.toPlan());
+        log.info("Génération {} terminée en {} s : {} enseignants, {} étudiants, {} cours ({} publiés), {} enrôlements",
+                data.emailPrefix(), data.elapsed().toSeconds(), data.teachers(), data.students(), data.courses(),
+                data.publishedCourseIds().size(), data.enrollments());
+        log.info("Comptes : {} ... / mot de passe seed.password", data.studentEmail(0));
+
+        if (properties.isExitAfter()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
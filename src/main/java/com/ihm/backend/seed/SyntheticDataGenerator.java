@@ -0,0 +1,218 @@
+package com.ihm.backend.seed;
+
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.EnrollmentStatus;
+import com.ihm.backend.enums.UserRole;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Génère utilisateurs, cours et enrôlements en volume avec COPY (PostgreSQL), sans passer par JPA
+ * <ul>
+ *   <li>productivité des enseignants selon une loi de Zipf : quelques auteurs écrivent la majorité des cours</li>
+ *   <li>popularité des cours selon une loi de Zipf, rangs dispersés dans les identifiants</li>
+ *   <li>nombre d'enrôlements par étudiant selon une loi exponentielle : beaucoup d'inactifs, quelques assidus</li>
+ * </ul>
+ * Les emails portent un préfixe propre à chaque génération : une base existante n'est jamais écrasée.
+ */
+@Slf4j
+@Component
+@Profile({ "seed", "loadtest" })
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private static final String[] FIRST_NAMES = { "Aïcha", "Brice", "Carine", "Daryl", "Estelle", "Franck",
+            "Gabrielle", "Hervé", "Inès", "Johan", "Kevin", "Landry", "Marcelle", "Nadia", "Pio", "Roy",
+            "Stacy", "Théo", "Ulrich", "Vanessa" };
+    private static final String[] LAST_NAMES = { "Azangue", "Bala", "Chedjou", "Djiele", "Ekane", "Fotso",
+            "Kamga", "Mbarga", "Nana", "Nchang", "Ngono", "Nkolo", "Ossombe", "Tamogou", "Tsamo", "Zambo" };
+    private static final String[] CATEGORIES = { "Informatique", "Mathématiques", "Physique", "Chimie",
+            "Électronique", "Génie civil", "Réseaux", "Intelligence artificielle", "Bases de données",
+            "Gestion de projet", "Anglais", "Économie" };
+    private static final String[] GRADES = { "Assistant", "Chargé de cours", "Maître de conférences", "Professeur" };
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+
+    public GeneratedData generate(SeedPlan plan) throws SQLException {
+        if (plan.courses() > 0 && plan.teachers() <= 0) {
+            throw new IllegalArgumentException("Au moins un enseignant est nécessaire pour générer des cours");
+        }
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(plan.randomSeed());
+        String emailPrefix = "seed-" + Long.toString(System.currentTimeMillis(), 36);
+        // Bits de poids fort propres à la génération, index en poids faible : deux générations ne se heurtent pas
+        long uuidHigh = UUID.randomUUID().getMostSignificantBits();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // Un seul hachage BCrypt partagé : le coût est payé une fois, pas par compte
+        String hash = passwordEncoder.encode(plan.password());
+
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            copyUsers(copyManager, plan, emailPrefix, uuidHigh, hash, now, random);
+            log.info("{} utilisateurs générés", plan.teachers() + plan.students());
+
+            int firstCourseId = reserveCourseIds(connection, plan.courses());
+            int[] courseAgeDays = new int[plan.courses()];
+            List<Integer> publishedCourseIds = copyCourses(copyManager, plan, firstCourseId, uuidHigh, now,
+                    courseAgeDays, random);
+            log.info("{} cours générés dont {} publiés", plan.courses(), publishedCourseIds.size());
+
+            long enrollments = copyEnrollments(copyManager, plan, firstCourseId, publishedCourseIds, uuidHigh, now,
+                    courseAgeDays, random);
+            log.info("{} enrôlements générés", enrollments);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("analyze users");
+                statement.execute("analyze course");
+                statement.execute("analyze enrollments");
+            }
+
+            return new GeneratedData(emailPrefix, plan.teachers(), plan.students(), plan.courses(),
+                    publishedCourseIds, enrollments, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private void copyUsers(CopyManager copyManager, SeedPlan plan, String emailPrefix, long uuidHigh, String hash,
+                           LocalDateTime now, SplittableRandom random) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(copyManager, """
+                copy users (id, email, password, role, first_name, last_name, grade, registration_date, active, verified)
+                from stdin""")) {
+            for (int i = 0; i < plan.teachers(); i++) {
+                writer.row(new UUID(uuidHigh, i), emailPrefix + "-teacher" + i + "@xccm.test", hash,
+                        UserRole.TEACHER.name(), pick(FIRST_NAMES, random), pick(LAST_NAMES, random),
+                        pick(GRADES, random), now.minusDays(random.nextInt(1, 1_100)), "t", "t");
+            }
+            for (int i = 0; i < plan.students(); i++) {
+                writer.row(new UUID(uuidHigh, plan.teachers() + (long) i),
+                        emailPrefix + "-student" + i + "@xccm.test", hash, UserRole.STUDENT.name(),
+                        pick(FIRST_NAMES, random), pick(LAST_NAMES, random), null,
+                        now.minusDays(random.nextInt(1, 1_100)), "t", "t");
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Réserve une plage d'identifiants dans la séquence de course : les enrôlements les référencent
+     * sans relire la table, et les insertions JPA ultérieures reprennent après la plage
+     */
+    private int reserveCourseIds(Connection connection, int count) throws SQLException {
+        if (count == 0) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select setval(pg_get_serial_sequence('course', 'id'), "
+                     + "nextval(pg_get_serial_sequence('course', 'id')) + " + (count - 1) + ")")) {
+            rs.next();
+            return (int) (rs.getLong(1) - count + 1);
+        }
+    }
+
+    private List<Integer> copyCourses(CopyManager copyManager, SeedPlan plan, int firstCourseId, long uuidHigh,
+                                      LocalDateTime now, int[] courseAgeDays, SplittableRandom random)
+            throws SQLException {
+        ZipfSampler authors = new ZipfSampler(plan.teachers(), plan.teacherSkew());
+        List<Integer> published = new ArrayList<>();
+        String content = "Introduction, objectifs, chapitres et exercices corrigés. ".repeat(4);
+        try (CopyWriter writer = new CopyWriter(copyManager, """
+                copy course (id, title, category, description, status, author_id, created_at, published_at, content, cover_image)
+                from stdin""")) {
+            for (int i = 0; i < plan.courses(); i++) {
+                int id = firstCourseId + i;
+                String category = pick(CATEGORIES, random);
+                int draw = random.nextInt(100);
+                CourseStatus status = draw < 85 ? CourseStatus.PUBLISHED
+                        : draw < 95 ? CourseStatus.DRAFT : CourseStatus.ARCHIVED;
+                courseAgeDays[i] = random.nextInt(30, 730);
+                LocalDateTime createdAt = now.minusDays(courseAgeDays[i]);
+                LocalDateTime publishedAt = status == CourseStatus.DRAFT ? null
+                        : createdAt.plusDays(random.nextInt(0, 30));
+                writer.row(id, category + " " + (i + 1), category, "Cours de " + category.toLowerCase() + " n°" + (i + 1),
+                        status.name(), new UUID(uuidHigh, authors.sample(random)), createdAt, publishedAt,
+                        content, "/uploads/cours" + id + ".png");
+                if (status == CourseStatus.PUBLISHED) {
+                    published.add(id);
+                }
+            }
+            writer.finish();
+        }
+        return published;
+    }
+
+    private long copyEnrollments(CopyManager copyManager, SeedPlan plan, int firstCourseId,
+                                 List<Integer> publishedCourseIds, long uuidHigh, LocalDateTime now,
+                                 int[] courseAgeDays, SplittableRandom random) throws SQLException {
+        if (publishedCourseIds.isEmpty() || plan.students() == 0) {
+            return 0;
+        }
+        // Rangs de popularité dispersés : les cours populaires ne sont pas les premiers identifiants
+        int[] byPopularity = publishedCourseIds.stream().mapToInt(Integer::intValue).toArray();
+        for (int i = byPopularity.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byPopularity[i];
+            byPopularity[i] = byPopularity[j];
+            byPopularity[j] = swap;
+        }
+        ZipfSampler popularity = new ZipfSampler(byPopularity.length, plan.popularitySkew());
+        // Moyenne légèrement majorée pour atteindre la cible : les derniers étudiants restent sans cours
+        double meanPerStudent = (double) plan.enrollments() / plan.students() * 1.1;
+        int maxPerStudent = Math.max(1, byPopularity.length / 2);
+
+        try (CopyWriter writer = new CopyWriter(copyManager, """
+                copy enrollments (user_id, course_id, enrolled_at, progress, last_accessed, completed, status)
+                from stdin""")) {
+            long written = 0;
+            Set<Integer> courses = new HashSet<>();
+            for (int student = 0; student < plan.students() && written < plan.enrollments(); student++) {
+                int count = (int) Math.min(maxPerStudent,
+                        Math.min(plan.enrollments() - written, Math.round(-Math.log(1 - random.nextDouble()) * meanPerStudent)));
+                UUID userId = new UUID(uuidHigh, plan.teachers() + (long) student);
+                courses.clear();
+                while (courses.size() < count) {
+                    int courseId = byPopularity[popularity.sample(random)];
+                    if (!courses.add(courseId)) {
+                        continue;
+                    }
+                    int ageDays = courseAgeDays[courseId - firstCourseId];
+                    LocalDateTime enrolledAt = now.minusDays(random.nextInt(0, ageDays))
+                            .minusMinutes(random.nextInt(0, 1_440));
+                    boolean pending = random.nextInt(100) < 5;
+                    boolean completed = !pending && random.nextInt(100) < 30;
+                    double progress = pending ? 0 : completed ? 100 : random.nextInt(0, 100);
+                    LocalDateTime lastAccessed = pending ? null : enrolledAt.plusMinutes(
+                            random.nextLong(0, Math.max(1, Duration.between(enrolledAt, now).toMinutes())));
+                    writer.row(userId, courseId, enrolledAt, progress, lastAccessed, completed ? "t" : "f",
+                            pending ? EnrollmentStatus.PENDING.name() : EnrollmentStatus.APPROVED.name());
+                    written++;
+                }
+            }
+            return writer.finish();
+        }
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+}
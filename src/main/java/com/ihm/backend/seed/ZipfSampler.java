@@ -0,0 +1,31 @@
+package com.ihm.backend.seed;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Tirage de rangs selon une loi de Zipf : le rang k (0-indexé) a un poids 1 / (k + 1)^exposant
+ * La fonction de répartition est précalculée, un tirage est une recherche dichotomique
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -4,6 +4,7 @@ package com.ihm.backend.service;
 import com.ihm.backend.dto.request.AuthenticationRequest;
 import com.ihm.backend.dto.request.PasswordResetRequest;
 import com.ihm.backend.dto.request.PasswordUpdateRequest;
+import com.ihm.backend.dto.request.RefreshTokenRequest;
 import com.ihm.backend.dto.request.RegisterRequest;
 import com.ihm.backend.dto.request.StudentRegisterRequest;
 import com.ihm.backend.dto.request.TeacherRegisterRequest;
@@ -25,4 +26,6 @@ public interface AuthService {
     ApiResponse<String> requestPasswordReset(PasswordResetRequest request);
 
     ApiResponse<String> resetPassword(PasswordUpdateRequest request);
+
+    ApiResponse<AuthenticationResponse> refresh(RefreshTokenRequest request);
 }
\ No newline at end of file
@@ -5,17 +5,25 @@ import com.ihm.backend.dto.response.*;
 import com.ihm.backend.entity.*;
 import com.ihm.backend.enums.UserRole;
 import com.ihm.backend.exception.*;
+import com.ihm.backend.monitoring.BusinessMetrics;
 import com.ihm.backend.repository.*;
+import com.ihm.backend.security.OpaqueTokens;
+import com.ihm.backend.security.PasswordHashingService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -25,42 +33,70 @@ public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final RefreshTokenService refreshTokenService;
+    private final RegisteredEmails registeredEmails;
+    private final BusinessMetrics businessMetrics;
+    private final ObservationRegistry observationRegistry;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Hors transaction : aucune connexion JDBC n'est retenue pendant l'attente du pool BCrypt ni pendant le hachage.
+     * Lecture de l'utilisateur, puis écriture de lastLogin et des tokens dans une transaction courte
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse<AuthenticationResponse> authenticate(AuthenticationRequest request) {
         try {
             User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
 
-            // Vérifier le mot de passe
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            // Vérifier le mot de passe (BCrypt, span distinct des requêtes et de la signature)
+            boolean matches = Observation.createNotStarted("xccm.auth.password.verify", observationRegistry)
+                    .contextualName("password-verify")
+                    .observe(() -> passwordHashingService.matches(request.getPassword(), user.getPassword()));
+            if (!matches) {
+                businessMetrics.loginFailed();
                 return ApiResponse.unauthorized("Email ou mot de passe incorrect", null);
             }
 
             if (!user.isEnabled()) {
+                businessMetrics.loginFailed();
                 return ApiResponse.unauthorized("Compte désactivé ou non vérifié", null);
             }
 
-            // Mettre à jour lastLogin
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-
-            String jwt = jwtService.generateToken(user);
-            AuthenticationResponse authResponse = AuthenticationResponse.fromUser(user, jwt);
+            // Coût BCrypt relevé ou hachage sans préfixe : rehachage transparent, calculé avant la transaction
+            String rehashed = passwordHashingService.needsRehash(user.getPassword())
+                    ? passwordHashingService.encode(request.getPassword())
+                    : null;
+
+            AuthenticationResponse authResponse = transactionTemplate.execute(status -> {
+                // Entité relue (cache de second niveau) : seuls lastLogin et le hachage changent
+                User managed = userRepository.findById(user.getId())
+                    .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
+                if (rehashed != null) {
+                    managed.setPassword(rehashed);
+                    log.info("Hachage du mot de passe mis à jour pour {}", managed.getEmail());
+                }
+                managed.setLastLogin(LocalDateTime.now());
+                return issueTokens(managed);
+            });
+            businessMetrics.loginSucceeded();
 
             return ApiResponse.success("Connexion réussie", authResponse);
 
         } catch (UsernameNotFoundException e) {
+            businessMetrics.loginFailed();
             return ApiResponse.unauthorized("Email ou mot de passe incorrect", null);
         }
     }
 
     @Override
-    @Transactional
+    @Deprecated
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse<AuthenticationResponse> register(RegisterRequest request) {
         log.info("Tentative d'inscription pour: {}", request.getEmail());
         
@@ -69,27 +105,27 @@ public class AuthServiceImpl implements AuthService {
             return ApiResponse.badRequest("Les mots de passe ne correspondent pas", null);
         }
 
-        // Vérification email unique
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Vérification email unique : la base n'est interrogée que si le filtre ne peut pas conclure
+        if (registeredEmails.isTaken(request.getEmail())) {
             return ApiResponse.conflict("Cet email est déjà utilisé", null);
         }
 
         // Construction de l'utilisateur selon le rôle
         User user = buildUser(request);
 
-        // Hash du mot de passe
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        // Hash du mot de passe, hors transaction
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setRegistrationDate(LocalDateTime.now());
         user.setActive(true);
         user.setVerified(true);
 
-        // Sauvegarde
-        User saved = userRepository.save(user);
-        log.info("Utilisateur créé: {} avec le rôle {}", saved.getEmail(), saved.getRole());
-
-        // Génération token
-        String jwt = jwtService.generateToken(saved);
-        AuthenticationResponse response = AuthenticationResponse.fromUser(saved, jwt);
+        // Sauvegarde et génération des tokens
+        AuthenticationResponse response = insertWithTokens(user).orElse(null);
+        if (response == null) {
+            return ApiResponse.conflict("Cet email est déjà utilisé", null);
+        }
+        log.info("Utilisateur créé: {} avec le rôle {}", user.getEmail(), user.getRole());
+        businessMetrics.registered(user.getRole());
 
         return ApiResponse.created("Inscription réussie", response);
     }
@@ -126,13 +162,17 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional
     public ApiResponse<String> requestPasswordReset(PasswordResetRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
             .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
-        String token = UUID.randomUUID().toString();
+        // Un seul lien valide à la fois : les demandes précédentes sont invalidées
+        tokenRepository.deleteByUserId(user.getId());
+
+        String token = OpaqueTokens.generate();
         PasswordResetToken resetToken = PasswordResetToken.builder()
-            .token(token)
+            .tokenHash(OpaqueTokens.sha256(token))
             .userId(user.getId())
             .expiryDate(LocalDateTime.now().plusHours(1))
             .used(false)
@@ -145,10 +185,14 @@ public class AuthServiceImpl implements AuthService {
         return ApiResponse.success("Email de réinitialisation envoyé");
     }
 
+    /**
+     * Le nouveau mot de passe est haché hors transaction ; l'écriture relit le token pour rester à usage unique
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse<String> resetPassword(PasswordUpdateRequest request) {
-        PasswordResetToken token = tokenRepository.findByToken(request.getToken())
+        PasswordResetToken token = Optional.ofNullable(request.getToken())
+            .flatMap(raw -> tokenRepository.findByTokenHash(OpaqueTokens.sha256(raw)))
             .orElseThrow(() -> new ResourceNotFoundException("Token invalide ou expiré"));
 
         if (token.isExpired() || token.getUsed()) {
@@ -159,14 +203,24 @@ public class AuthServiceImpl implements AuthService {
             return ApiResponse.badRequest("Les mots de passe ne correspondent pas", null);
         }
 
-        User user = userRepository.findById(token.getUserId())
-            .orElseThrow(() -> new ResourceNotFoundException("Utilisateur introuvable"));
-
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        String encoded = passwordHashingService.encode(request.getNewPassword());
 
-        token.setUsed(true);
-        tokenRepository.save(token);
+        boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            PasswordResetToken current = tokenRepository.findById(token.getId()).orElse(null);
+            if (current == null || current.getUsed()) {
+                return false;
+            }
+            User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur introuvable"));
+            user.setPassword(encoded);
+            // Mot de passe changé : les sessions ouvertes ne peuvent plus être prolongées
+            refreshTokenService.revokeAll(user.getId());
+            current.setUsed(true);
+            return true;
+        }));
+        if (!applied) {
+            return ApiResponse.badRequest("Token expiré ou déjà utilisé", null);
+        }
 
         return ApiResponse.success("Mot de passe réinitialisé avec succès");
     }
@@ -175,7 +229,7 @@ public class AuthServiceImpl implements AuthService {
      * Inscription spécifique pour les étudiants
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse<AuthenticationResponse> registerStudent(StudentRegisterRequest request) {
         log.info("Tentative d'inscription étudiant pour: {}", request.getEmail());
         
@@ -184,8 +238,8 @@ public class AuthServiceImpl implements AuthService {
             return ApiResponse.badRequest("Les mots de passe ne correspondent pas", null);
         }
 
-        // Vérification email unique
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Vérification email unique : la base n'est interrogée que si le filtre ne peut pas conclure
+        if (registeredEmails.isTaken(request.getEmail())) {
             return ApiResponse.conflict("Cet email est déjà utilisé", null);
         }
 
@@ -199,17 +253,18 @@ public class AuthServiceImpl implements AuthService {
                 .city(request.getCity())
                 .university(request.getUniversity())
                 .specialization(request.getSpecialization())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .registrationDate(LocalDateTime.now())
                 .active(true)
                 .verified(true)
                 .build();
 
-        User saved = userRepository.save(student);
-        log.info("Étudiant créé: {}", saved.getEmail());
-
-        String jwt = jwtService.generateToken(saved);
-        AuthenticationResponse response = AuthenticationResponse.fromUser(saved, jwt);
+        AuthenticationResponse response = insertWithTokens(student).orElse(null);
+        if (response == null) {
+            return ApiResponse.conflict("Cet email est déjà utilisé", null);
+        }
+        log.info("Étudiant créé: {}", student.getEmail());
+        businessMetrics.registered(student.getRole());
 
         return ApiResponse.created("Inscription étudiant réussie", response);
     }
@@ -218,7 +273,7 @@ public class AuthServiceImpl implements AuthService {
      * Inscription spécifique pour les enseignants
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ApiResponse<AuthenticationResponse> registerTeacher(TeacherRegisterRequest request) {
         log.info("Tentative d'inscription enseignant pour: {}", request.getEmail());
         
@@ -227,8 +282,8 @@ public class AuthServiceImpl implements AuthService {
             return ApiResponse.badRequest("Les mots de passe ne correspondent pas", null);
         }
 
-        // Vérification email unique
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Vérification email unique : la base n'est interrogée que si le filtre ne peut pas conclure
+        if (registeredEmails.isTaken(request.getEmail())) {
             return ApiResponse.conflict("Cet email est déjà utilisé", null);
         }
 
@@ -250,18 +305,74 @@ public class AuthServiceImpl implements AuthService {
                 .grade(request.getGrade())
                 .subjects(subjectsStr)
                 .certification(request.getCertification())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .registrationDate(LocalDateTime.now())
                 .active(true)
                 .verified(true)
                 .build();
 
-        User saved = userRepository.save(teacher);
-        log.info("Enseignant créé: {}", saved.getEmail());
-
-        String jwt = jwtService.generateToken(saved);
-        AuthenticationResponse response = AuthenticationResponse.fromUser(saved, jwt);
+        AuthenticationResponse response = insertWithTokens(teacher).orElse(null);
+        if (response == null) {
+            return ApiResponse.conflict("Cet email est déjà utilisé", null);
+        }
+        log.info("Enseignant créé: {}", teacher.getEmail());
+        businessMetrics.registered(teacher.getRole());
 
         return ApiResponse.created("Inscription enseignant réussie", response);
     }
+
+    @Override
+    public ApiResponse<AuthenticationResponse> refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken()).orElse(null);
+        if (rotation == null) {
+            return ApiResponse.unauthorized("Refresh token invalide, expiré ou déjà utilisé", null);
+        }
+
+        User user = userRepository.findById(rotation.userId()).orElse(null);
+        if (user == null || !user.isEnabled()) {
+            refreshTokenService.revokeAll(rotation.userId());
+            return ApiResponse.unauthorized("Compte désactivé ou non vérifié", null);
+        }
+
+        AuthenticationResponse response = AuthenticationResponse.fromUser(user, jwtService.generateToken(user));
+        response.setRefreshToken(rotation.refreshToken());
+        response.setExpiresIn(jwtService.getAccessTokenTtlSeconds());
+        return ApiResponse.success("Token renouvelé", response);
+    }
+
+    /**
+     * Token d'accès court et refresh token d'une nouvelle famille
+     */
+    private AuthenticationResponse issueTokens(User user) {
+        AuthenticationResponse response = AuthenticationResponse.fromUser(user, jwtService.generateToken(user));
+        response.setRefreshToken(refreshTokenService.issue(user.getId()));
+        response.setExpiresIn(jwtService.getAccessTokenTtlSeconds());
+        return response;
+    }
+
+    /**
+     * Insère l'utilisateur (mot de passe déjà haché) et émet ses tokens dans une transaction courte.
+     * La contrainte unique tranche les inscriptions concurrentes : vide si l'email est pris,
+     * la transaction est alors annulée sans remonter d'erreur.
+     */
+    private Optional<AuthenticationResponse> insertWithTokens(User user) {
+        return transactionTemplate.execute(status -> {
+            try {
+                User saved = userRepository.saveAndFlush(user);
+                registeredEmails.add(saved.getEmail());
+                return Optional.of(issueTokens(saved));
+            } catch (DataIntegrityViolationException e) {
+                if (!isUniqueViolation(e)) {
+                    throw e;
+                }
+                log.info("Inscription concurrente refusée par la contrainte unique : {}", user.getEmail());
+                status.setRollbackOnly();
+                return Optional.empty();
+            }
+        });
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sql && "23505".equals(sql.getSQLState());
+    }
 }
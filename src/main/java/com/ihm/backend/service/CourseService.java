@@ -1,14 +1,20 @@
 package com.ihm.backend.service;
 
-import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.Hibernate;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ihm.backend.dto.response.CourseResponse;
@@ -17,6 +23,7 @@ import com.ihm.backend.dto.request.CourseCreateRequest;
 import com.ihm.backend.dto.request.CourseUpdateRequest;
 import com.ihm.backend.exception.ResourceNotFoundException;
 import com.ihm.backend.mappers.CourseMapper;
+import com.ihm.backend.monitoring.jfr.CourseEnrichmentEvent;
 import com.ihm.backend.repository.CourseRepository;
 import com.ihm.backend.repository.EnrollmentRepository;
 import com.ihm.backend.repository.UserRepository;
@@ -35,6 +42,7 @@ public class CourseService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
     //create a course
+   @Transactional
    public CourseResponse createCourse(CourseCreateRequest dto,UUID authorId) throws Exception{
     Course course=courseMapper.toEntity(dto);
     User author=userRepository.findById(authorId).orElseThrow(()->new Exception("Teacher does not exists"));
@@ -44,40 +52,48 @@ public class CourseService {
    }
    //get all courses for a particular author
 
+   @Transactional(readOnly = true)
    public List<CourseResponse> getAllCoursesForTeacher(UUID authorId)throws Exception{
     User author=userRepository.findById(authorId).orElseThrow(()->new Exception("Teacher does not exists"));
     return courseMapper.toResponse(courseRepository.findByAuthor(author));
    }
    //update course
-   public CourseResponse updateCourse(Integer courseId,CourseUpdateRequest request) throws Exception{
-    Course course=courseRepository.findById(courseId)
-                    .orElseThrow(()->new Exception("Course does not exist"));
+   @Transactional
+   public CourseResponse updateCourse(Integer courseId,CourseUpdateRequest request,UUID teacherId) throws Exception{
+    Course course=findOwnedCourse(courseId, teacherId);
 
+    // Entité gérée : le dirty checking émet le seul UPDATE au commit
     courseMapper.updateEntity(request, course);
-    course=courseRepository.save(course);
     return courseMapper.toResponse(course);
 
 
    }
 
-   //get all courses
-   public List<CourseResponse> getAllCourses(){
-    return courseMapper.toResponse(courseRepository.findByStatus(CourseStatus.PUBLISHED));
+   /**
+    * Catalogue publié converti cours par cours pendant la sérialisation de la réponse, sans liste de DTO.
+    * Seule la conversion est en flux : les entités sont lues en entier, depuis le cache de requêtes à chaud.
+    * La conversion a lieu après la transaction : les auteurs sont initialisés ici
+    */
+   @Transactional(readOnly = true)
+   public Stream<CourseResponse> streamAllCourses(){
+    return withAuthors(courseRepository.findByStatus(CourseStatus.PUBLISHED)).stream().map(courseMapper::toResponse);
    }
    //delete course
-   public void deleteCourse(Integer courseId) throws Exception{
-    Course course=courseRepository.findById(courseId).orElseThrow(()->new Exception("Course does not exist"));
+   @Transactional
+   public void deleteCourse(Integer courseId,UUID teacherId) throws Exception{
+    // Suppression d'entité plutôt qu'un DELETE JPQL : seule l'entrée du cours quitte le cache de second niveau
+    Course course=findOwnedCourse(courseId, teacherId);
     courseRepository.delete(course);
    }
 
    //changeState of Course
-   public CourseResponse changeCourseStatus(CourseStatus courseStatus,Integer courseId) throws Exception{
-    Course course=courseRepository.findById(courseId)
-                    .orElseThrow(()->new Exception("Course does not exist"));
+   @Transactional
+   public CourseResponse changeCourseStatus(CourseStatus courseStatus,Integer courseId,UUID teacherId) throws Exception{
+    Course course=findOwnedCourse(courseId, teacherId);
     course.setStatus(courseStatus);
-    courseRepository.save(course);
     return courseMapper.toResponse(course);
    }
+   @Transactional(readOnly = true)
    public List<CourseResponse> getCoursesByStatusForAuthor(Integer authorId,CourseStatus courseStatus) throws Exception{
     List<Course> courses=courseRepository.findByStatus(courseStatus);
     List<Course> result = courses.stream().filter(course-> course.getAuthor().getId().equals(authorId)).collect(Collectors.toList());
@@ -85,11 +101,11 @@ public class CourseService {
     return courseMapper.toResponse(result);
    }
 
-    public CourseResponse uploadCoverImage(Integer courseId,MultipartFile image) throws Exception{
+    @Transactional
+    public CourseResponse uploadCoverImage(Integer courseId,MultipartFile image,UUID teacherId) throws Exception{
 
 
-        Course course=courseRepository.findById(courseId).
-        orElseThrow(()->new Exception() );
+        Course course=findOwnedCourse(courseId, teacherId);
 
    
 
@@ -103,47 +119,69 @@ public class CourseService {
     // Save path accessible from frontend
     String urlPath = "/uploads/" + fileName;
     course.setCoverImage(urlPath);
-    courseRepository.save(course);
     return courseMapper.toResponse(course);
 
 
     }
     
     /**
-     * Valide que l'enseignant est propriétaire du cours
+     * Valide que l'enseignant est propriétaire du cours, en une requête d'existence
+     * Le cours n'est relu que pour distinguer un cours absent d'un cours d'un autre auteur
+     */
+    @Transactional(readOnly = true)
+    public void validateOwnership(Integer courseId, UUID teacherId) {
+        if (!courseRepository.existsByIdAndAuthor_Id(courseId, teacherId)) {
+            throw ownershipFailure(courseId);
+        }
+    }
+
+    /**
+     * Charge un cours à modifier en vérifiant sa propriété
+     * Servi par le cache de second niveau à chaud : l'identifiant de l'auteur est lu sans requête
      */
-    public void validateOwnership(Integer courseId, UUID teacherId) throws Exception {
+    private Course findOwnedCourse(Integer courseId, UUID teacherId) {
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new ResourceNotFoundException("Cours non trouvé"));
-        
+
         if (!course.getAuthor().getId().equals(teacherId)) {
             throw new AccessDeniedException("Vous ne pouvez modifier que vos propres cours");
         }
+        return course;
     }
-    
+
+    private RuntimeException ownershipFailure(Integer courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            return new ResourceNotFoundException("Cours non trouvé");
+        }
+        return new AccessDeniedException("Vous ne pouvez modifier que vos propres cours");
+    }
+
     /**
-     * Récupère tous les cours publiés enrichis avec l'enrôlement de l'utilisateur si applicable
+     * Cours publiés enrichis, convertis pendant la sérialisation de la réponse.
+     * Seule la conversion est en flux : cours et enrôlements sont lus en entier. Les enrôlements de l'utilisateur sont lus en une requête, pas un par cours
      */
-    public List<EnrichedCourseResponse> getEnrichedCourses(UUID userId) {
-        List<Course> publishedCourses = courseRepository.findByStatus(CourseStatus.PUBLISHED);
-        
+    @Transactional(readOnly = true)
+    public Stream<EnrichedCourseResponse> streamEnrichedCourses(UUID userId) {
+        CourseEnrichmentEvent event = new CourseEnrichmentEvent();
+        event.begin();
+        List<Course> publishedCourses = withAuthors(courseRepository.findByStatus(CourseStatus.PUBLISHED));
+        Map<Integer, Enrollment> enrollments = userId == null ? Map.of()
+            : enrollmentRepository.findByUser_Id(userId).stream()
+                .collect(Collectors.toMap(Enrollment::getCourseId, Function.identity(), (first, second) -> first));
+        event.userId = userId != null ? userId.toString() : null;
+        event.courseCount = publishedCourses.size();
+        event.commit();
         return publishedCourses.stream()
-            .map(course -> {
-                Enrollment enrollment = null;
-                if (userId != null) {
-                    enrollment = enrollmentRepository.findByCourse_IdAndUser_Id(
-                        course.getId(), userId
-                    ).orElse(null);
-                }
-                return EnrichedCourseResponse.fromCourse(course, enrollment);
-            })
-            .collect(Collectors.toList());
+            .map(course -> EnrichedCourseResponse.fromCourse(course, enrollments.get(course.getId())));
     }
-    
+
     /**
      * Récupère un cours enrichi avec l'enrôlement de l'utilisateur si applicable
      */
+    @Transactional(readOnly = true)
     public EnrichedCourseResponse getEnrichedCourse(Integer courseId, UUID userId) throws Exception {
+        CourseEnrichmentEvent event = new CourseEnrichmentEvent();
+        event.begin();
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new ResourceNotFoundException("Cours non trouvé"));
         
@@ -154,6 +192,19 @@ public class CourseService {
             ).orElse(null);
         }
         
-        return EnrichedCourseResponse.fromCourse(course, enrollment);
+        EnrichedCourseResponse enriched = EnrichedCourseResponse.fromCourse(course, enrollment);
+        event.courseId = courseId;
+        event.userId = userId != null ? userId.toString() : null;
+        event.courseCount = 1;
+        event.commit();
+        return enriched;
+    }
+
+    /**
+     * Initialise les auteurs (cache de second niveau ou jointure déjà faite) tant que la session est ouverte
+     */
+    private static List<Course> withAuthors(List<Course> courses) {
+        courses.forEach(course -> Hibernate.initialize(course.getAuthor()));
+        return courses;
     }
 }
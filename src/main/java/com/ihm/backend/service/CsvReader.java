@@ -0,0 +1,100 @@
+package com.ihm.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecteur CSV en flux (RFC 4180) : champs entre guillemets, guillemets doublés, retours à la ligne dans un champ.
+ * Le séparateur est déduit de l'en-tête : « ; » pour les exports Excel en français, « , » sinon.
+ */
+final class CsvReader {
+
+    private final Reader reader;
+    private char separator = ',';
+    private int pending = -2;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lit l'en-tête et fixe le séparateur
+     */
+    List<String> header() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            line.append((char) c);
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        String text = line.toString();
+        if (!text.isEmpty() && text.charAt(0) == '\uFEFF') {
+            text = text.substring(1);
+        }
+        separator = text.indexOf(';') >= 0 && text.indexOf(',') < 0 ? ';' : ',';
+        List<String> fields = new ArrayList<>();
+        for (String field : text.split(String.valueOf(separator), -1)) {
+            fields.add(field.replace("\r", "").replace("\"", "").trim());
+        }
+        return fields;
+    }
+
+    /**
+     * @return les champs de l'enregistrement suivant, ou null en fin de flux
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Guillemet non fermé en fin de fichier");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
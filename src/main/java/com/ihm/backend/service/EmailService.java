@@ -1,10 +1,12 @@
 package com.ihm.backend.service;
 
+import com.ihm.backend.monitoring.BusinessMetrics;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -24,6 +26,7 @@ public class EmailService {
     private String frontendUrl;
 
     private final JavaMailSender mailSender;
+    private final BusinessMetrics businessMetrics;
 
     @Async
     public void sendPasswordResetEmail(String to, String token) {
@@ -61,8 +64,13 @@ public class EmailService {
             helper.setText(htmlContent, true);
             mailSender.send(mimeMessage);
             log.info("Email de réinitialisation envoyé à {}", to);
+            businessMetrics.emailSent("password_reset");
 
+        } catch (MailException e) {
+            businessMetrics.emailFailed("password_reset");
+            throw e;
         } catch (MessagingException | UnsupportedEncodingException e) {
+            businessMetrics.emailFailed("password_reset");
             log.error("Échec de l'envoi de l'email à {} : {}", to, e.getMessage());
             throw new RuntimeException("Impossible d'envoyer l'email de réinitialisation", e);
         }
@@ -96,8 +104,10 @@ public class EmailService {
             helper.setText(htmlContent, true);
             mailSender.send(mimeMessage);
             log.info("Email de bienvenue envoyé à {}", to);
+            businessMetrics.emailSent("welcome");
 
         } catch (Exception e) {
+            businessMetrics.emailFailed("welcome");
             log.warn("Échec envoi email bienvenue à {} : {}", to, e.getMessage());
         }
     }
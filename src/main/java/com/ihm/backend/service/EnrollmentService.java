@@ -1,34 +1,44 @@
 package com.ihm.backend.service;
 
 import com.ihm.backend.dto.EnrollmentDTO;
+import com.ihm.backend.dto.response.StudentCourseSummary;
 import com.ihm.backend.entity.Course;
 import com.ihm.backend.entity.Enrollment;
 import com.ihm.backend.entity.User;
 import com.ihm.backend.enums.CourseStatus;
 import com.ihm.backend.enums.UserRole;
 import com.ihm.backend.exception.ResourceNotFoundException;
+import com.ihm.backend.monitoring.BusinessMetrics;
+import com.ihm.backend.monitoring.jfr.EnrollmentWriteEvent;
 import com.ihm.backend.repository.CourseRepository;
 import com.ihm.backend.repository.EnrollmentRepository;
 import com.ihm.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
 
+    /** Champs de l'enrôlement autorisés pour trier le résumé des cours d'un étudiant */
+    private static final Set<String> SUMMARY_SORT_FIELDS = Set.of("lastAccessed", "enrolledAt", "progress");
+
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final BusinessMetrics businessMetrics;
 
     /**
      * Enrôle un étudiant à un cours
@@ -36,6 +46,7 @@ public class EnrollmentService {
     @Transactional
     public EnrollmentDTO enrollStudent(Integer courseId, UUID userId) throws Exception {
         log.info("Tentative d'enrôlement: userId={}, courseId={}", userId, courseId);
+        EnrollmentWriteEvent event = EnrollmentWriteEvent.start("enroll");
 
         // Vérifier que l'utilisateur existe et est un étudiant
         User user = userRepository.findById(userId)
@@ -69,6 +80,8 @@ public class EnrollmentService {
 
         Enrollment saved = enrollmentRepository.save(enrollment);
         log.info("Enrôlement créé avec succès: id={}", saved.getId());
+        businessMetrics.enrollmentRequested();
+        event.end(saved);
 
         return EnrollmentDTO.fromEntity(saved);
     }
@@ -78,6 +91,7 @@ public class EnrollmentService {
      */
     @Transactional
     public EnrollmentDTO updateProgress(Long enrollmentId, Double progress) throws Exception {
+        EnrollmentWriteEvent event = EnrollmentWriteEvent.start("progress");
         if (progress < 0 || progress > 100) {
             throw new IllegalArgumentException("La progression doit être entre 0 et 100");
         }
@@ -95,6 +109,7 @@ public class EnrollmentService {
 
         Enrollment saved = enrollmentRepository.save(enrollment);
         log.info("Progression mise à jour: enrollmentId={}, progress={}%", enrollmentId, progress);
+        event.end(saved);
 
         return EnrollmentDTO.fromEntity(saved);
     }
@@ -104,6 +119,7 @@ public class EnrollmentService {
      */
     @Transactional
     public EnrollmentDTO markAsCompleted(Long enrollmentId) throws Exception {
+        EnrollmentWriteEvent event = EnrollmentWriteEvent.start("complete");
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrôlement non trouvé"));
 
@@ -113,6 +129,8 @@ public class EnrollmentService {
 
         Enrollment saved = enrollmentRepository.save(enrollment);
         log.info("Cours marqué comme complété: enrollmentId={}", enrollmentId);
+        businessMetrics.enrollmentCompleted();
+        event.end(saved);
 
         return EnrollmentDTO.fromEntity(saved);
     }
@@ -127,13 +145,25 @@ public class EnrollmentService {
     }
 
     /**
-     * Récupère tous les enrôlements d'un utilisateur
+     * Enrôlements d'un utilisateur convertis pendant la sérialisation de la réponse ; la liste d'entités est lue en entier.
+     * Le DTO ne lit que les identifiants du cours et de l'utilisateur : aucune session n'est nécessaire
      */
-    public List<EnrollmentDTO> getUserEnrollments(UUID userId) {
+    public Stream<EnrollmentDTO> streamUserEnrollments(UUID userId) {
         return enrollmentRepository.findByUser_Id(userId)
                 .stream()
-                .map(EnrollmentDTO::fromEntity)
-                .collect(Collectors.toList());
+                .map(EnrollmentDTO::fromEntity);
+    }
+
+    /**
+     * Récupère les cours d'un étudiant avec le résumé du cours et le nom de l'auteur,
+     * en une seule requête (évite un appel /courses/enriched/{id} par enrôlement)
+     */
+    public List<StudentCourseSummary> getUserCourseSummaries(UUID userId, String sortField, Sort.Direction direction) {
+        if (!SUMMARY_SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Tri non supporté: " + sortField);
+        }
+        Sort.Order order = new Sort.Order(direction, sortField).nullsLast();
+        return enrollmentRepository.findCourseSummariesByUserId(userId, Sort.by(order));
     }
 
     /**
@@ -153,7 +183,8 @@ public class EnrollmentService {
     @Transactional
     public EnrollmentDTO validateEnrollment(Long enrollmentId, com.ihm.backend.enums.EnrollmentStatus newStatus,
             UUID validatorId) throws Exception {
-        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
+        EnrollmentWriteEvent event = EnrollmentWriteEvent.start("validate");
+        Enrollment enrollment = enrollmentRepository.findWithCourseById(enrollmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrôlement non trouvé"));
 
         // Vérifier que le validateur est le propriétaire du cours
@@ -167,6 +198,8 @@ public class EnrollmentService {
         enrollment.setStatus(newStatus);
         Enrollment saved = enrollmentRepository.save(enrollment);
         log.info("Statut de l'enrôlement {} mis à jour vers {}", enrollmentId, newStatus);
+        businessMetrics.enrollmentStatusChanged(newStatus);
+        event.end(saved);
 
         return EnrollmentDTO.fromEntity(saved);
     }
@@ -1,8 +1,11 @@
 package com.ihm.backend.service;
 
+import com.ihm.backend.entity.User;
+import com.ihm.backend.monitoring.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,37 +24,46 @@ public class JwtService {
     @Value("${application.security.jwt.secret-key:ce4f01beeee4257f8ae44276369cd65974b8e114a9103cdc738f01c391a9b023}")
     private String secretKey;
 
-    @Value("${application.security.jwt.expiration:86400000}") // 24h par défaut
-    private long jwtExpiration;
+    /** Claim portant l'identifiant de l'utilisateur : le filtre construit le principal sans relire la base */
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
 
-    @Value("${application.security.jwt.refresh-expiration:604800000}") // 7 jours
-    private long refreshExpiration;
+    // Courte durée : un compte désactivé perd l'accès au plus tard à l'expiration (refresh tokens révocables)
+    @Value("${application.security.jwt.expiration:900000}") // 15 min par défaut
+    private long jwtExpiration;
 
- // Génère le token d'accès
+ // Génère le token d'accès (les refresh tokens sont opaques, voir RefreshTokenService)
+ @Observed(name = "xccm.jwt", contextualName = "jwt-sign-access")
  public String generateToken(UserDetails userDetails) {
-     return generateToken(new HashMap<>(), userDetails, jwtExpiration);
+     Map<String, Object> claims = new HashMap<>();
+     if (userDetails instanceof User user && user.getId() != null) {
+         claims.put(USER_ID_CLAIM, user.getId().toString());
+     }
+     return generateToken(claims, userDetails, jwtExpiration);
  }
 
- // Génère un refresh token (plus long)
- public String generateRefreshToken(UserDetails userDetails) {
-     return generateToken(new HashMap<>(), userDetails, refreshExpiration);
+ /** Durée de vie du token d'accès, en secondes */
+ public long getAccessTokenTtlSeconds() {
+     return jwtExpiration / 1000;
  }
 
  public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
      return Jwts.builder()
              .claims(extraClaims)
              .subject(userDetails.getUsername())
-             .claim("role", userDetails.getAuthorities().iterator().next().getAuthority())
+             .claim(ROLE_CLAIM, userDetails.getAuthorities().iterator().next().getAuthority())
              .issuedAt(new Date(System.currentTimeMillis()))
              .expiration(new Date(System.currentTimeMillis() + expiration))
              .signWith(getSignInKey())
              .compact();
  }
 
+ @Observed(name = "xccm.jwt", contextualName = "jwt-parse")
  public String extractUsername(String token) {
      return extractClaim(token, Claims::getSubject);
  }
 
+ @Observed(name = "xccm.jwt", contextualName = "jwt-verify")
  public boolean isTokenValid(String token, UserDetails userDetails) {
      final String username = extractUsername(token);
      return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
@@ -70,16 +82,31 @@ public class JwtService {
      return claimsResolver.apply(claims);
  }
 
+ /**
+  * Vérifie signature et expiration puis renvoie les claims : une seule lecture du token par requête
+  */
+ @Observed(name = "xccm.jwt", contextualName = "jwt-verify")
+ public Claims parseToken(String token) {
+     return extractAllClaims(token);
+ }
+
  private Claims extractAllClaims(String token) {
+     JwtVerificationEvent event = new JwtVerificationEvent();
+     event.begin();
      try {
-         return Jwts.parser()
+         Claims claims = Jwts.parser()
                  .verifyWith(getSignInKey())
                  .build()
                  .parseSignedClaims(token)
                  .getPayload();
+         event.subject = claims.getSubject();
+         event.valid = true;
+         return claims;
      } catch (JwtException | IllegalArgumentException e) {
          log.error("Invalid JWT token: {}", e.getMessage());
          throw new JwtException("Token JWT invalide ou expiré");
+     } finally {
+         event.commit();
      }
  }
 
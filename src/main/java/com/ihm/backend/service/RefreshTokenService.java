@@ -0,0 +1,84 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.entity.RefreshToken;
+import com.ihm.backend.repository.RefreshTokenRepository;
+import com.ihm.backend.security.OpaqueTokens;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Émission et rotation des refresh tokens : seule leur empreinte est stockée
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${application.security.jwt.refresh-expiration:604800000}") // 7 jours
+    private long refreshExpiration;
+
+    /** Token renouvelé et utilisateur auquel il appartient */
+    public record Rotation(UUID userId, String refreshToken) {
+    }
+
+    /**
+     * Ouvre une nouvelle famille de tokens (connexion ou inscription)
+     */
+    public String issue(UUID userId) {
+        return store(userId, UUID.randomUUID(), LocalDateTime.now());
+    }
+
+    /**
+     * Consomme le token présenté et en émet un nouveau dans la même famille.
+     * Vide si le token est inconnu, expiré ou déjà consommé ; dans ce dernier cas la famille entière est révoquée.
+     */
+    public Optional<Rotation> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(OpaqueTokens.sha256(rawToken)).orElse(null);
+        if (current == null) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamily(), now);
+            log.warn("Refresh token réutilisé pour l'utilisateur {} : famille {} révoquée ({} tokens)",
+                    current.getUserId(), current.getFamily(), revoked);
+            return Optional.empty();
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Rotation(current.getUserId(), store(current.getUserId(), current.getFamily(), now)));
+    }
+
+    /**
+     * Révoque toutes les sessions d'un utilisateur (mot de passe changé, compte désactivé)
+     */
+    public int revokeAll(UUID userId) {
+        return refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    private String store(UUID userId, UUID family, LocalDateTime now) {
+        String rawToken = OpaqueTokens.generate();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(OpaqueTokens.sha256(rawToken))
+                .family(family)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plusNanos(refreshExpiration * 1_000_000))
+                .build());
+        return rawToken;
+    }
+}
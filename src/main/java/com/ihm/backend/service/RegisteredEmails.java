@@ -0,0 +1,96 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Emails déjà inscrits, en mémoire dans un filtre de Bloom : un email absent du filtre est certainement libre
+ * et l'inscription saute existsByEmail. Un email présent (ou un filtre pas encore chargé) passe par la base.
+ * La contrainte unique reste l'arbitre : un doublon manqué (autre instance, import) finit en 409.
+ */
+@Slf4j
+@Component
+public class RegisteredEmails {
+
+    public static final String CHECKS = "xccm.registration.email_checks";
+
+    private final UserRepository userRepository;
+    private final BloomFilter filter;
+    private final Counter skipped;
+    private final Counter checked;
+    private volatile boolean loaded;
+
+    public RegisteredEmails(UserRepository userRepository, MeterRegistry meterRegistry,
+                            @Value("${app.registration.email-filter.expected-emails:1000000}") long expectedEmails,
+                            @Value("${app.registration.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.filter = new BloomFilter(expectedEmails, falsePositiveRate);
+        this.skipped = checks(meterRegistry, "filter");
+        this.checked = checks(meterRegistry, "database");
+    }
+
+    /**
+     * Charge les emails existants ; les inscriptions concurrentes sont ajoutées au fil de l'eau
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(email -> {
+                add(email);
+                count.incrementAndGet();
+            });
+        }
+        loaded = true;
+        log.info("Filtre des emails inscrits chargé : {} emails, {} Ko, {} ms", count.get(),
+                filter.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return true si l'email est déjà inscrit, en n'interrogeant la base que si le filtre ne peut pas conclure
+     */
+    public boolean isTaken(String email) {
+        if (!mightBeTaken(email)) {
+            skipped.increment();
+            return false;
+        }
+        checked.increment();
+        return userRepository.existsByEmail(email);
+    }
+
+    /**
+     * @return false si l'email est certainement libre, sans interroger la base
+     */
+    public boolean mightBeTaken(String email) {
+        return !loaded || filter.mightContain(normalize(email));
+    }
+
+    public void add(String email) {
+        filter.put(normalize(email));
+    }
+
+    /** Casse ignorée : au pire un faux positif de plus, jamais un faux négatif */
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String path) {
+        return Counter.builder(CHECKS)
+                .description("Vérifications d'email à l'inscription, tranchées par le filtre ou par la base")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+}
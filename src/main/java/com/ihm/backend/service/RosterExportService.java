@@ -0,0 +1,124 @@
+package com.ihm.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ihm.backend.dto.response.RosterRow;
+import com.ihm.backend.repository.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Export des inscrits d'un cours (notation, émargement) écrit directement dans la réponse, ligne par ligne :
+ * ni liste ni entités en mémoire, la taille de la classe ne change pas l'empreinte mémoire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RosterExportService {
+
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Format d'export inconnu : " + value + " (csv ou ndjson)");
+            }
+        }
+    }
+
+    private static final String[] CSV_HEADER = { "email", "lastName", "firstName", "status", "progress",
+            "completed", "enrolledAt", "lastAccessed", "studentId", "enrollmentId" };
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseService courseService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Contrôle de propriété, avant l'envoi des en-têtes : 404 ou 403 restent possibles
+     */
+    public void checkAccess(Integer courseId, UUID teacherId) {
+        courseService.validateOwnership(courseId, teacherId);
+    }
+
+    /**
+     * Écrit les inscrits dans le flux, triés par nom. La connexion JDBC reste ouverte jusqu'à la dernière ligne.
+     *
+     * @return nombre de lignes écrites
+     */
+    @Transactional(readOnly = true)
+    public long export(Integer courseId, Format format, OutputStream out) throws IOException {
+        try (Stream<RosterRow> rows = enrollmentRepository.streamRosterByCourseId(courseId)) {
+            long written = format == Format.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+            log.info("Export {} du cours {} : {} inscrits", format, courseId, written);
+            return written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeCsv(Iterator<RosterRow> rows, OutputStream out) throws IOException {
+        BufferedWriter buffer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM : Excel reconnaît l'UTF-8 et affiche correctement les noms accentués
+        buffer.write('\uFEFF');
+        CsvWriter csv = new CsvWriter(buffer);
+        csv.row((Object[]) CSV_HEADER);
+        long written = 0;
+        while (rows.hasNext()) {
+            RosterRow row = rows.next();
+            csv.row(row.getEmail(), row.getLastName(), row.getFirstName(), row.getStatus(), row.getProgress(),
+                    row.getCompleted(), row.getEnrolledAt(), row.getLastAccessed(), row.getStudentId(),
+                    row.getEnrollmentId());
+            written++;
+        }
+        buffer.flush();
+        return written;
+    }
+
+    private long writeNdjson(Iterator<RosterRow> rows, OutputStream out) throws IOException {
+        // Valeurs séparées par un saut de ligne, sans flush par ligne : le tampon du générateur part par blocs
+        ObjectWriter writer = objectMapper.writerFor(RosterRow.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // Un seul générateur pour tout le flux ; la réponse est fermée par le conteneur, pas par Jackson
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            long written = 0;
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                written++;
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+            return written;
+        }
+    }
+}
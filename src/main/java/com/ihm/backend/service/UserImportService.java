@@ -0,0 +1,271 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.dto.response.UserImportLine;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.monitoring.BusinessMetrics;
+import com.ihm.backend.security.PasswordHashingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Import d'utilisateurs depuis un CSV d'établissement, lu en flux ligne à ligne.
+ * Par lot : validation, hachage parallèle sur le pool des imports, INSERT JDBC groupé
+ * avec ON CONFLICT DO NOTHING (un email déjà inscrit est signalé, pas écrasé), commit, puis rapport.
+ * Relancer le même fichier est donc sans effet sur les lignes déjà importées ; fromRow évite de les rehacher.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("email", "firstname", "lastname", "password");
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final String INSERT = """
+            insert into users (id, email, password, role, first_name, last_name, university, specialization,
+                               city, registration_date, active, verified)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, true)
+            on conflict do nothing""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final RegisteredEmails registeredEmails;
+    private final BusinessMetrics businessMetrics;
+    private final int batchSize;
+
+    public UserImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             PasswordHashingService passwordHashingService, RegisteredEmails registeredEmails,
+                             BusinessMetrics businessMetrics,
+                             @Value("${app.user-import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHashingService = passwordHashingService;
+        this.registeredEmails = registeredEmails;
+        this.businessMetrics = businessMetrics;
+        this.batchSize = batchSize;
+    }
+
+    /** Ligne valide en attente d'insertion */
+    private record Candidate(long row, String email, String password, UserRole role, String firstName,
+                             String lastName, String university, String specialization, String city) {
+    }
+
+    /**
+     * Importe le CSV et émet le rapport lot par lot, chaque lot une fois commité
+     *
+     * @param fromRow première ligne de données à traiter (1 pour tout le fichier) ; les précédentes sont sautées
+     * @throws IllegalArgumentException si l'en-tête ne contient pas les colonnes obligatoires
+     */
+    public void importCsv(Reader csv, long fromRow, Consumer<List<UserImportLine>> report) throws IOException {
+        long start = System.nanoTime();
+        CsvReader reader = new CsvReader(csv);
+        Map<String, Integer> columns = columns(reader.header());
+
+        Map<String, Long> counts = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        List<Candidate> batch = new ArrayList<>(batchSize);
+        List<UserImportLine> rejected = new ArrayList<>();
+        long row = 0;
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            row++;
+            if (row < fromRow || isBlank(fields)) {
+                continue;
+            }
+            UserImportLine invalid = validate(row, fields, columns, seen, batch);
+            if (invalid != null) {
+                rejected.add(invalid);
+            }
+            // Rejets compris : un fichier presque entièrement invalide est lui aussi rapporté lot par lot
+            if (batch.size() + rejected.size() >= batchSize) {
+                flush(batch, rejected, counts, report);
+            }
+        }
+        flush(batch, rejected, counts, report);
+
+        report.accept(List.of(UserImportLine.builder()
+                .type("summary")
+                .lastRow(row)
+                .created(counts.getOrDefault(UserImportLine.CREATED, 0L))
+                .existing(counts.getOrDefault(UserImportLine.EXISTING, 0L))
+                .duplicates(counts.getOrDefault(UserImportLine.DUPLICATE, 0L))
+                .invalid(counts.getOrDefault(UserImportLine.INVALID, 0L))
+                .durationMs((System.nanoTime() - start) / 1_000_000)
+                .build()));
+        counts.forEach(businessMetrics::usersImported);
+        log.info("Import d'utilisateurs terminé : {} lignes, {}", row, counts);
+    }
+
+    private Map<String, Integer> columns(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("Fichier CSV vide");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Colonnes obligatoires absentes de l'en-tête : " + missing);
+        }
+        return columns;
+    }
+
+    /**
+     * Ajoute la ligne au lot si elle est valide
+     *
+     * @return la ligne de rapport d'un rejet, null si la ligne rejoint le lot
+     */
+    private UserImportLine validate(long row, List<String> fields, Map<String, Integer> columns, Set<String> seen,
+                                    List<Candidate> batch) {
+        String email = field(fields, columns, "email");
+        String password = field(fields, columns, "password");
+        String firstName = field(fields, columns, "firstname");
+        String lastName = field(fields, columns, "lastname");
+        String role = field(fields, columns, "role");
+
+        if (email == null || !EMAIL.matcher(email).matches() || email.length() > 255) {
+            return UserImportLine.row(row, email, UserImportLine.INVALID, "Email invalide");
+        }
+        if (firstName == null || lastName == null) {
+            return UserImportLine.row(row, email, UserImportLine.INVALID, "Prénom et nom obligatoires");
+        }
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            return UserImportLine.row(row, email, UserImportLine.INVALID,
+                    "Mot de passe de " + MIN_PASSWORD_LENGTH + " caractères minimum");
+        }
+        UserRole userRole;
+        try {
+            userRole = role == null ? UserRole.STUDENT : UserRole.valueOf(role.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            userRole = null;
+        }
+        if (userRole != UserRole.STUDENT && userRole != UserRole.TEACHER) {
+            return UserImportLine.row(row, email, UserImportLine.INVALID, "Rôle attendu : STUDENT ou TEACHER");
+        }
+        if (!seen.add(email.toLowerCase(Locale.ROOT))) {
+            return UserImportLine.row(row, email, UserImportLine.DUPLICATE, "Email répété dans le fichier");
+        }
+        batch.add(new Candidate(row, email, password, userRole, firstName, lastName,
+                field(fields, columns, "university"), field(fields, columns, "specialization"),
+                field(fields, columns, "city")));
+        return null;
+    }
+
+    /**
+     * Écarte les emails déjà inscrits, hache le reste, insère et commite, puis émet le rapport dans l'ordre des lignes
+     */
+    private void flush(List<Candidate> batch, List<UserImportLine> rejected, Map<String, Long> counts,
+                       Consumer<List<UserImportLine>> report) {
+        List<UserImportLine> lines = new ArrayList<>(rejected);
+        // Une reprise ne rehache pas les lignes déjà importées : une requête par lot pour les emails suspects
+        Set<String> existing = existingEmails(batch);
+        List<Candidate> fresh = new ArrayList<>(batch.size());
+        for (Candidate candidate : batch) {
+            if (existing.contains(candidate.email())) {
+                lines.add(UserImportLine.row(candidate.row(), candidate.email(), UserImportLine.EXISTING,
+                        "Email déjà inscrit"));
+            } else {
+                fresh.add(candidate);
+            }
+        }
+        if (!fresh.isEmpty()) {
+            List<String> hashes = passwordHashingService.encodeAll(fresh.stream().map(Candidate::password).toList());
+            int[] inserted = transactionTemplate.execute(status -> insert(fresh, hashes));
+            for (int i = 0; i < fresh.size(); i++) {
+                Candidate candidate = fresh.get(i);
+                // 0 ligne : inscrit entre-temps, la contrainte unique a tranché
+                if (inserted[i] == 0) {
+                    lines.add(UserImportLine.row(candidate.row(), candidate.email(), UserImportLine.EXISTING,
+                            "Email déjà inscrit"));
+                } else {
+                    registeredEmails.add(candidate.email());
+                    lines.add(UserImportLine.row(candidate.row(), candidate.email(), UserImportLine.CREATED, null));
+                }
+            }
+        }
+        lines.sort(Comparator.comparingLong(UserImportLine::getRow));
+        lines.forEach(line -> counts.merge(line.getStatus(), 1L, Long::sum));
+        if (!lines.isEmpty()) {
+            report.accept(lines);
+        }
+        batch.clear();
+        rejected.clear();
+    }
+
+    private Set<String> existingEmails(List<Candidate> batch) {
+        List<String> suspects = batch.stream()
+                .map(Candidate::email)
+                .filter(registeredEmails::mightBeTaken)
+                .toList();
+        if (suspects.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(suspects.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select email from users where email in (" + placeholders + ")", String.class, suspects.toArray()));
+    }
+
+    private int[] insert(List<Candidate> candidates, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Candidate c = candidates.get(i);
+                ps.setObject(1, UUID.randomUUID());
+                ps.setString(2, c.email());
+                ps.setString(3, hashes.get(i));
+                ps.setString(4, c.role().name());
+                ps.setString(5, c.firstName());
+                ps.setString(6, c.lastName());
+                ps.setString(7, c.university());
+                ps.setString(8, c.specialization());
+                ps.setString(9, c.city());
+                ps.setTimestamp(10, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return candidates.size();
+            }
+        });
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.stream().allMatch(String::isBlank);
+    }
+}
@@ -1,7 +1,9 @@
 package com.ihm.backend.service;
 
+import com.ihm.backend.dto.UserDto;
+import com.ihm.backend.dto.request.UserSearchRequest;
+import com.ihm.backend.dto.response.CursorPage;
 import com.ihm.backend.entity.User;
-import com.ihm.backend.enums.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -13,6 +15,8 @@ public interface UserService {
 
     Page<User> getAllUsers(Pageable pageable);
 
+    CursorPage<UserDto> searchUsers(UserSearchRequest search); // annuaire admin, pagination par clé
+
     User getUserById(UUID id);
 
     User updateUser(UUID id, User updatedUser);
@@ -0,0 +1,169 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.dto.UserDto;
+import com.ihm.backend.dto.request.UserSearchRequest;
+import com.ihm.backend.dto.response.CursorPage;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.exception.ResourceNotFoundException;
+import com.ihm.backend.mappers.UserMapper;
+import com.ihm.backend.repository.UserRepository;
+import com.ihm.backend.repository.UserSpecifications;
+import com.ihm.backend.security.RevokedPrincipals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final RefreshTokenService refreshTokenService;
+    private final RevokedPrincipals revokedPrincipals;
+
+    @Override
+    public User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User principal)) {
+            throw new IllegalStateException("Aucun utilisateur authentifié");
+        }
+        // Le principal est construit depuis le token (id, email, rôle) : le profil complet est relu
+        return getUserById(principal.getId());
+    }
+
+    @Override
+    public Page<User> getAllUsers(Pageable pageable) {
+        return userRepository.findAll(pageable);
+    }
+
+    /**
+     * Annuaire trié par email, paginé par clé : la page suivante reprend après le dernier email,
+     * sans OFFSET ni comptage, quelle que soit la profondeur
+     */
+    @Override
+    public CursorPage<UserDto> searchUsers(UserSearchRequest search) {
+        Specification<User> spec = Specification.where(null);
+        if (search.getRole() != null) {
+            spec = spec.and(UserSpecifications.hasRole(search.getRole()));
+        }
+        if (search.getActive() != null) {
+            spec = spec.and(UserSpecifications.isActive(search.getActive()));
+        }
+        if (search.getVerified() != null) {
+            spec = spec.and(UserSpecifications.isVerified(search.getVerified()));
+        }
+        if (search.getQ() != null && !search.getQ().isBlank()) {
+            spec = spec.and(UserSpecifications.matchesPrefix(search.getQ()));
+        }
+        if (search.getAfter() != null && !search.getAfter().isBlank()) {
+            spec = spec.and(UserSpecifications.emailAfter(decodeCursor(search.getAfter())));
+        }
+
+        int size = search.getSize();
+        // Une ligne de plus que demandé : sa présence indique une page suivante, sans COUNT
+        List<User> users = userRepository.findBy(spec,
+                query -> query.sortBy(Sort.by("email")).limit(size + 1).all());
+        boolean hasNext = users.size() > size;
+        List<User> page = hasNext ? users.subList(0, size) : users;
+
+        return CursorPage.<UserDto>builder()
+                .content(page.stream().map(userMapper::toDto).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1).getEmail()) : null)
+                .build();
+    }
+
+    @Override
+    public User getUserById(UUID id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur introuvable avec l'ID: " + id));
+    }
+
+    @Override
+    @Transactional
+    public User updateUser(UUID id, User updatedUser) {
+        User user = getUserById(id);
+        user.setFirstName(updatedUser.getFirstName() != null ? updatedUser.getFirstName() : user.getFirstName());
+        user.setLastName(updatedUser.getLastName() != null ? updatedUser.getLastName() : user.getLastName());
+        user.setPhotoUrl(updatedUser.getPhotoUrl() != null ? updatedUser.getPhotoUrl() : user.getPhotoUrl());
+        user.setCity(updatedUser.getCity() != null ? updatedUser.getCity() : user.getCity());
+        user.setUniversity(updatedUser.getUniversity() != null ? updatedUser.getUniversity() : user.getUniversity());
+        user.setSpecialization(updatedUser.getSpecialization() != null
+                ? updatedUser.getSpecialization() : user.getSpecialization());
+        user.setGrade(updatedUser.getGrade() != null ? updatedUser.getGrade() : user.getGrade());
+        user.setSubjects(updatedUser.getSubjects() != null ? updatedUser.getSubjects() : user.getSubjects());
+        user.setCertification(updatedUser.getCertification() != null
+                ? updatedUser.getCertification() : user.getCertification());
+        return userRepository.save(user);
+    }
+
+    /**
+     * Désactive le compte et coupe ses sessions : refresh tokens révoqués en base, tokens d'accès
+     * déjà émis refusés par le filtre JWT. L'entité en cache de second niveau est mise à jour au commit.
+     */
+    @Override
+    @Transactional
+    public void deactivateUser(UUID id) {
+        User user = getUserById(id);
+        if (!user.isActive()) {
+            return;
+        }
+        user.setActive(false);
+        int revoked = refreshTokenService.revokeAll(id);
+        // Après commit : un rollback ne doit pas laisser un compte actif bloqué
+        afterCommit(() -> revokedPrincipals.revoke(id));
+        log.info("Utilisateur {} désactivé, {} session(s) révoquée(s)", id, revoked);
+    }
+
+    @Override
+    @Transactional
+    public void activateUser(UUID id) {
+        User user = getUserById(id);
+        if (user.isActive()) {
+            return;
+        }
+        user.setActive(true);
+        // Après commit : un rollback ne doit pas rendre valides les tokens émis avant la désactivation
+        afterCommit(() -> revokedPrincipals.restore(id));
+        log.info("Utilisateur {} réactivé", id);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String encodeCursor(String email) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(email.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- Exécuté après la mise à jour du schéma par Hibernate (SchemaIndexInitializer) : les tables existent,
+-- y compris sur une base neuve. Chaque bloc est idempotent ; les instructions sont séparées par @@.
+
+-- Recherche par préfixe de l'annuaire admin : index trigramme sur lower(email|first_name|last_name).
+-- pg_trgm est une extension « trusted » (PostgreSQL 13+) ; sans droit de la créer, la recherche
+-- reste fonctionnelle mais parcourt la table.
+DO $$
+BEGIN
+    IF to_regclass('users_search_trgm_idx') IS NULL THEN
+        BEGIN
+            CREATE EXTENSION IF NOT EXISTS pg_trgm;
+        EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+            RAISE NOTICE 'pg_trgm indisponible, index de recherche des utilisateurs non créé';
+            RETURN;
+        END;
+        CREATE INDEX users_search_trgm_idx ON users USING gin (
+            lower(email) gin_trgm_ops, lower(first_name) gin_trgm_ops, lower(last_name) gin_trgm_ops);
+    END IF;
+END $$
+@@
@@ -0,0 +1,27 @@
+-- Exécuté avant la mise à jour du schéma par Hibernate : migrations que ddl-auto=update ne sait pas faire.
+-- Chaque bloc est idempotent ; les instructions sont séparées par @@ (blocs DO contenant des ;).
+
+-- Tokens de réinitialisation : le token en clair est remplacé par son SHA-256,
+-- les liens déjà envoyés restent valides
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'password_reset_tokens' AND column_name = 'token') THEN
+        ALTER TABLE password_reset_tokens ADD COLUMN IF NOT EXISTS token_hash bytea;
+        UPDATE password_reset_tokens SET token_hash = sha256(convert_to(token, 'UTF8')) WHERE token_hash IS NULL;
+        ALTER TABLE password_reset_tokens DROP COLUMN token;
+        ALTER TABLE password_reset_tokens ALTER COLUMN token_hash SET NOT NULL;
+    END IF;
+END $$
+@@
+
+-- Index unique de l'empreinte : ddl-auto=update ne le crée pas sur une colonne existante
+DO $$
+BEGIN
+    IF to_regclass('password_reset_tokens') IS NOT NULL AND NOT EXISTS (
+            SELECT 1 FROM pg_indexes
+            WHERE tablename = 'password_reset_tokens' AND indexdef LIKE '%UNIQUE%(token_hash)') THEN
+        CREATE UNIQUE INDEX password_reset_tokens_token_hash_key ON password_reset_tokens (token_hash);
+    END IF;
+END $$
+@@
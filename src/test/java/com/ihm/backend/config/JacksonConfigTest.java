@@ -0,0 +1,124 @@
+package com.ihm.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.ihm.backend.dto.response.ApiResponse;
+import com.ihm.backend.dto.response.EnrichedCourseResponse;
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.EnrollmentStatus;
+import com.ihm.backend.enums.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * L'ObjectMapper de Spring Boot reçoit les réglages de JacksonConfig et ceux de spring.jackson.*,
+ * tout comme ceux des convertisseurs CBOR et Smile
+ */
+@JsonTest
+@ActiveProfiles("test")
+@Import(JacksonConfig.class)
+class JacksonConfigTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void bootMapperUsesBlackbirdAndConfiguredTimeZone() {
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+        assertThat(objectMapper.getSerializationConfig().getTimeZone()).isEqualTo(TimeZone.getTimeZone("Africa/Douala"));
+    }
+
+    @Test
+    void localDateTimesAreWrittenAsIsoText() throws Exception {
+        ApiResponse<LocalDateTime> response = ApiResponse.success("ok", LocalDateTime.of(2024, 1, 15, 10, 30));
+
+        assertThat(objectMapper.writeValueAsString(response)).contains("\"data\":\"2024-01-15T10:30:00\"");
+    }
+
+    @Test
+    void binaryConvertersShareTheJsonSettings() throws Exception {
+        ApiResponse<LocalDateTime> response = ApiResponse.success("ok", LocalDateTime.of(2024, 1, 15, 10, 30));
+
+        for (ObjectMapper binary : new ObjectMapper[] { cborConverter.getObjectMapper(), smileConverter.getObjectMapper() }) {
+            assertThat(binary.getFactory()).isInstanceOfAny(CBORFactory.class, SmileFactory.class);
+            assertThat(binary.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+
+            JsonNode decoded = binary.readTree(binary.writeValueAsBytes(response));
+            assertThat(decoded.get("data").asText()).isEqualTo("2024-01-15T10:30:00");
+            assertThat(decoded.has("errors")).isFalse();
+        }
+    }
+
+    @Test
+    void binaryFormatsShrinkTheEnrichedCatalogue() throws Exception {
+        // Taille des charges comparées par BinaryFormatBenchmark, vérifiée ici plutôt qu'affichée par le benchmark
+        ApiResponse<List<EnrichedCourseResponse>> catalogue = ApiResponse.success("ok", enrichedCourses(100));
+
+        int json = objectMapper.writeValueAsBytes(catalogue).length;
+        int cbor = cborConverter.getObjectMapper().writeValueAsBytes(catalogue).length;
+        int smile = smileConverter.getObjectMapper().writeValueAsBytes(catalogue).length;
+
+        assertThat(cbor).isLessThan(json);
+        assertThat(smile).isLessThan(json);
+    }
+
+    private static List<EnrichedCourseResponse> enrichedCourses(int count) {
+        User teacher = User.builder()
+                .id(UUID.randomUUID())
+                .email("teacher@xccm.test")
+                .role(UserRole.TEACHER)
+                .firstName("Prénom")
+                .lastName("Nom")
+                .build();
+        User student = User.builder().id(UUID.randomUUID()).role(UserRole.STUDENT).build();
+        List<EnrichedCourseResponse> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Course course = Course.builder()
+                    .id(i + 1)
+                    .title("Cours " + i)
+                    .category("Informatique")
+                    .description("Description du cours " + i)
+                    .status(CourseStatus.PUBLISHED)
+                    .author(teacher)
+                    .createdAt(LocalDateTime.now())
+                    .content("Contenu du chapitre. ".repeat(10))
+                    .build();
+            Enrollment enrollment = Enrollment.builder()
+                    .id((long) i + 1)
+                    .user(student)
+                    .course(course)
+                    .enrolledAt(LocalDateTime.now())
+                    .progress(42.5)
+                    .completed(false)
+                    .status(EnrollmentStatus.APPROVED)
+                    .build();
+            courses.add(EnrichedCourseResponse.fromCourse(course, enrollment));
+        }
+        return courses;
+    }
+}
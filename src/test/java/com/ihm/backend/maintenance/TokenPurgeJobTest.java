@@ -0,0 +1,152 @@
+package com.ihm.backend.maintenance;
+
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.PasswordResetToken;
+import com.ihm.backend.entity.RefreshToken;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.repository.CourseRepository;
+import com.ihm.backend.repository.PasswordResetTokenRepository;
+import com.ihm.backend.repository.RefreshTokenRepository;
+import com.ihm.backend.repository.UserRepository;
+import com.ihm.backend.security.OpaqueTokens;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Purge par lots : seuls les tokens expirés ou utilisés disparaissent, le total est publié.
+ * Chaque lot est sa propre transaction : pas de transaction de test ici.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "app.maintenance.batch-size=2")
+@Import({ TokenPurgeJob.class, DatabaseLock.class, MaintenanceProperties.class, SimpleMeterRegistry.class })
+class TokenPurgeJobTest {
+
+    @Autowired
+    private TokenPurgeJob tokenPurgeJob;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(User.builder()
+                .email("purge@xccm.test")
+                .password("hash")
+                .role(UserRole.STUDENT)
+                .firstName("Prénom")
+                .lastName("Nom")
+                .registrationDate(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        passwordResetTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void expiredAndUsedTokensArePurgedAcrossBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            resetToken(now.minusHours(1), false);
+            refreshToken(now.minusDays(1));
+        }
+        resetToken(now.plusHours(1), true);
+        PasswordResetToken valid = resetToken(now.plusHours(1), false);
+        RefreshToken active = refreshToken(now.plusDays(1));
+
+        tokenPurgeJob.run();
+
+        assertThat(passwordResetTokenRepository.findAll()).extracting(PasswordResetToken::getId)
+                .containsExactly(valid.getId());
+        assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getId)
+                .containsExactly(active.getId());
+        assertThat(meterRegistry.get(TokenPurgeJob.PURGED).tag("table", "password_reset_tokens").counter().count())
+                .isEqualTo(4);
+        assertThat(meterRegistry.get(TokenPurgeJob.PURGED).tag("table", "refresh_tokens").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void purgeKeepsCachedCoursesAndUsers() {
+        Course course = courseRepository.save(Course.builder()
+                .title("Cours en cache")
+                .status(CourseStatus.PUBLISHED)
+                .author(user)
+                .createdAt(LocalDateTime.now())
+                .build());
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        courseRepository.findById(course.getId());
+        userRepository.findById(user.getId());
+        resetToken(LocalDateTime.now().minusHours(1), false);
+        refreshToken(LocalDateTime.now().minusDays(1));
+
+        tokenPurgeJob.run();
+
+        assertThat(cache.contains(Course.class, course.getId())).isTrue();
+        assertThat(cache.contains(User.class, user.getId())).isTrue();
+    }
+
+    private PasswordResetToken resetToken(LocalDateTime expiryDate, boolean used) {
+        return passwordResetTokenRepository.save(PasswordResetToken.builder()
+                .tokenHash(OpaqueTokens.sha256(UUID.randomUUID().toString()))
+                .userId(user.getId())
+                .expiryDate(expiryDate)
+                .used(used)
+                .build());
+    }
+
+    private RefreshToken refreshToken(LocalDateTime expiresAt) {
+        return refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(OpaqueTokens.sha256(UUID.randomUUID().toString()))
+                .family(UUID.randomUUID())
+                .userId(user.getId())
+                .createdAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
@@ -0,0 +1,90 @@
+package com.ihm.backend.monitoring;
+
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.exception.ResourceNotFoundException;
+import com.ihm.backend.repository.CourseRepository;
+import com.ihm.backend.repository.EnrollmentRepository;
+import com.ihm.backend.repository.UserRepository;
+import com.ihm.backend.service.EnrollmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Vérifie les tags du timer de service et les compteurs métier sur un EnrollmentService aux dépôts simulés
+ */
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private EnrollmentService enrollmentService;
+
+    @BeforeEach
+    void proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new EnrollmentService(enrollmentRepository,
+                courseRepository, userRepository, new BusinessMetrics(registry)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        enrollmentService = factory.getProxy();
+    }
+
+    @Test
+    void successfulEnrollmentIsTimedAndCounted() throws Exception {
+        User student = User.builder().id(UUID.randomUUID()).role(UserRole.STUDENT).build();
+        Course course = Course.builder().id(1).status(CourseStatus.PUBLISHED).build();
+        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(courseRepository.findById(1)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0, Enrollment.class));
+
+        enrollmentService.enrollStudent(1, student.getId());
+
+        assertThat(registry.get(ServiceMetricsAspect.SERVICE_CALLS)
+                .tags("class", "EnrollmentService", "method", "enrollStudent", "outcome", "success",
+                        "exception", "none")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(BusinessMetrics.ENROLLMENTS).tag("event", "requested").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void businessRejectionIsTaggedAsFailure() {
+        when(enrollmentRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> enrollmentService.markAsCompleted(42L))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(registry.get(ServiceMetricsAspect.SERVICE_CALLS)
+                .tags("method", "markAsCompleted", "outcome", "failure",
+                        "exception", "ResourceNotFoundException")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.find(BusinessMetrics.ENROLLMENTS).counter()).isNull();
+    }
+
+    @Test
+    void unexpectedExceptionIsTaggedAsError() {
+        when(enrollmentRepository.findById(7L)).thenThrow(new RuntimeException("connexion perdue"));
+
+        assertThatThrownBy(() -> enrollmentService.markAsCompleted(7L)).isInstanceOf(RuntimeException.class);
+
+        assertThat(registry.get(ServiceMetricsAspect.SERVICE_CALLS)
+                .tags("method", "markAsCompleted", "outcome", "error", "exception", "RuntimeException")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ihm.backend.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le comptage des requêtes SQL d'une requête HTTP, ses en-têtes et ses métriques par endpoint
+ */
+class SqlMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlMetricsProperties properties = new SqlMetricsProperties();
+    private final SqlStatementListener listener = new SqlStatementListener();
+
+    @Test
+    void statementsAreCountedInHeadersAndMetricsPerEndpoint() throws Exception {
+        MockHttpServletResponse response = handle(3);
+
+        assertThat(response.getHeader(SqlMetricsFilter.STATEMENTS_HEADER)).isEqualTo("3");
+        assertThat(response.getHeader(SqlMetricsFilter.TIME_HEADER)).isNotNull();
+        assertThat(registry.get(SqlMetricsFilter.STATEMENTS).tags("method", "GET", "uri", "/courses/{id}")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get(SqlMetricsFilter.TIME).tag("uri", "/courses/{id}").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void headersCanBeDisabledWithoutLosingMetrics() throws Exception {
+        properties.setResponseHeaders(false);
+
+        MockHttpServletResponse response = handle(2);
+
+        assertThat(response.getHeader(SqlMetricsFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(registry.get(SqlMetricsFilter.STATEMENTS).summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void statementsOutsideARequestAreIgnored() {
+        listener.beforeQuery(null, List.of());
+        listener.afterQuery(null, List.of());
+
+        assertThat(SqlRequestStats.current()).isNull();
+    }
+
+    /** Simule un contrôleur qui exécute des requêtes SQL puis écrit son corps */
+    private MockHttpServletResponse handle(int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/courses/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet controller = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                for (int i = 0; i < statements; i++) {
+                    listener.beforeQuery(null, List.of());
+                    listener.afterQuery(null, List.of());
+                }
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/courses/{id}");
+                resp.getWriter().write("{}");
+            }
+        };
+        new SqlMetricsFilter(registry, properties).doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ihm.backend.monitoring.jfr;
+
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le cycle démarrage / téléchargement d'un enregistrement et la présence des événements applicatifs
+ */
+class JfrEndpointTest {
+
+    private final JfrEndpoint endpoint = new JfrEndpoint();
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void close() {
+        endpoint.closeAll();
+    }
+
+    @Test
+    void downloadedRecordingContainsApplicationEvents() throws Exception {
+        JfrEndpoint.RecordingDescriptor started = endpoint.start("default", null);
+        assertThat(endpoint.recordings()).singleElement()
+                .satisfies(r -> assertThat(r.state()).isEqualTo(RecordingState.RUNNING));
+
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        event.subject = "student@xccm.test";
+        event.valid = true;
+        event.commit();
+
+        List<RecordedEvent> events = jwtEvents(download(started.id(), "first.jfr"));
+        assertThat(events).singleElement().satisfies(e -> {
+            assertThat(e.getString("subject")).isEqualTo("student@xccm.test");
+            assertThat(e.getStackTrace()).isNotNull();
+        });
+
+        // Le téléchargement est une lecture : l'enregistrement continue et peut être téléchargé à nouveau
+        assertThat(endpoint.recordings()).singleElement()
+                .satisfies(r -> assertThat(r.state()).isEqualTo(RecordingState.RUNNING));
+        assertThat(jwtEvents(download(started.id(), "retry.jfr"))).hasSize(1);
+
+        endpoint.discard(started.id());
+        assertThat(endpoint.recordings()).isEmpty();
+        assertThat(endpoint.download(started.id())).isNull();
+    }
+
+    @Test
+    void unknownRecordingIsNotFound() throws Exception {
+        assertThat(endpoint.download(424242)).isNull();
+    }
+
+    private Path download(long id, String name) throws Exception {
+        Resource resource = endpoint.download(id);
+        Path file = dir.resolve(name);
+        try (InputStream in = resource.getInputStream()) {
+            Files.copy(in, file);
+        }
+        return file;
+    }
+
+    private static List<RecordedEvent> jwtEvents(Path file) throws Exception {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("xccm.JwtVerification"))
+                .toList();
+    }
+}
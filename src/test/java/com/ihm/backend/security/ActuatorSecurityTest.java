@@ -0,0 +1,65 @@
+package com.ihm.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Endpoints actuator sensibles : métriques réservées au collecteur, JFR aux administrateurs
+ */
+@SpringBootTest(properties = "app.security.metrics.password=scrape-secret")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = {
+    KafkaAutoConfiguration.class,
+    MailSenderAutoConfiguration.class,
+    RedisAutoConfiguration.class
+})
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusRejectsAnonymousAndWrongCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "mauvais")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheusIsServedToTheScraper() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void jfrIsReservedToAdministrators() throws Exception {
+        mockMvc.perform(get("/actuator/jfr")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr").with(user("teacher@xccm.test").roles("TEACHER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/jfr/1").with(user("student@xccm.test").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/jfr").with(user("admin@xccm.test").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void healthStaysPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,37 @@
+package com.ihm.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ihm.backend.config.JacksonConfig;
+import com.ihm.backend.dto.response.ApiResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Une enveloppe pré-sérialisée doit produire exactement le JSON de l'ObjectMapper applicatif
+ */
+class ErrorResponseWriterTest {
+
+    private final ObjectMapper objectMapper = JacksonConfig.newObjectMapper();
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(objectMapper);
+
+    @Test
+    void preparedEnvelopeMatchesTheObjectMapperOutput() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 7_000_000);
+        ApiResponse<Void> expected = ApiResponse.forbidden("Accès refusé", "Rôle « enseignant » requis");
+        expected.setTimestamp(timestamp);
+
+        ApiResponse<Void> source = ApiResponse.forbidden("Accès refusé", "Rôle « enseignant » requis");
+        LocalDateTime sourceTimestamp = source.getTimestamp();
+        ErrorResponseWriter.PreparedEnvelope prepared = errorResponseWriter.prepare(source);
+
+        assertThat(new String(errorResponseWriter.body(prepared, timestamp), StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(expected))
+                .endsWith(",\"timestamp\":\"2024-01-15T10:30:00.007\"}");
+        assertThat(prepared.code()).isEqualTo(403);
+        assertThat(source.getTimestamp()).isNotNull().isEqualTo(sourceTimestamp);
+    }
+}
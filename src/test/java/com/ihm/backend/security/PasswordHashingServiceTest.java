@@ -0,0 +1,97 @@
+package com.ihm.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie la compatibilité des anciens hachages, la détection des rehachages et le rejet quand le pool est saturé
+ */
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PasswordHashingProperties properties = new PasswordHashingProperties();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void legacyHashStillMatchesAndIsRehashedWithPrefixAndCurrentCost() {
+        service = serviceWithStrength(5);
+        String legacy = BCrypt.hashpw("secret", BCrypt.gensalt(4));
+
+        assertThat(service.matches("secret", legacy)).isTrue();
+        assertThat(service.needsRehash(legacy)).isTrue();
+
+        String upgraded = service.encode("secret");
+        assertThat(upgraded).startsWith("{bcrypt}$2a$05$");
+        assertThat(service.needsRehash(upgraded)).isFalse();
+        assertThat(service.matches("secret", upgraded)).isTrue();
+    }
+
+    @Test
+    void onlyCheaperHashesAreRehashed() {
+        service = serviceWithStrength(5);
+
+        assertThat(service.needsRehash("{bcrypt}" + BCrypt.hashpw("secret", BCrypt.gensalt(4)))).isTrue();
+        // Calibration plus basse sur ce nœud : le hachage plus coûteux est conservé
+        assertThat(service.needsRehash("{bcrypt}" + BCrypt.hashpw("secret", BCrypt.gensalt(6)))).isFalse();
+    }
+
+    @Test
+    void saturatedPoolRejectsInsteadOfQueueingWithoutBound() throws Exception {
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        service = new PasswordHashingService(new BlockingEncoder(running, release), properties, registry);
+
+        Thread.ofVirtual().start(() -> service.encode("occupe le thread"));
+        running.await();
+        Thread.ofVirtual().start(() -> service.encode("occupe la file"));
+        while (registry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> service.encode("rejeté")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(registry.get("xccm.password.hashing.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    private PasswordHashingService serviceWithStrength(int strength) {
+        properties.setStrength(strength);
+        return new PasswordHashingService(new SecurityConfig(null, null, null).passwordEncoder(properties),
+                properties, registry);
+    }
+
+    /** Encodeur qui bloque jusqu'à libération : simule un hachage long */
+    private record BlockingEncoder(CountDownLatch running, CountDownLatch release)
+            implements org.springframework.security.crypto.password.PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ihm.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie les limites par IP et par email, la réponse 429 et la relecture du corps par le contrôleur
+ */
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    @Test
+    void emailIsLimitedAcrossIpsAndBodyReachesTheController() throws Exception {
+        RateLimitFilter filter = filter();
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse ok = login(filter, "10.0.0." + i, "Etudiant@xccm.test");
+            assertThat(ok.getStatus()).isEqualTo(200);
+            assertThat(ok.getContentAsString()).contains("Etudiant@xccm.test");
+        }
+        MockHttpServletResponse rejected = login(filter, "10.0.0.9", " etudiant@XCCM.test");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(1L, 60L);
+        assertThat(registry.get(RateLimitFilter.REJECTED).tags("endpoint", "login", "key", "email")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ipIsLimitedAcrossEmails() throws Exception {
+        RateLimitFilter filter = filter();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(login(filter, "10.0.0.1", "user" + i + "@xccm.test").getStatus()).isEqualTo(200);
+        }
+
+        assertThat(login(filter, "10.0.0.1", "autre@xccm.test").getStatus()).isEqualTo(429);
+        assertThat(login(filter, "10.0.0.2", "autre@xccm.test").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void oversizedBodyIsRejectedBeforeTheController() throws Exception {
+        RateLimitFilter filter = filter();
+        String padding = "x".repeat(5000);
+
+        MockHttpServletResponse declared = login(filter, "10.0.0.1", padding + "@xccm.test");
+        // Transfert par morceaux : aucune longueur annoncée
+        HttpServletRequest chunked = new HttpServletRequestWrapper(loginRequest("10.0.0.2", padding + "@xccm.test")) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        MockHttpServletResponse streamed = new MockHttpServletResponse();
+        filter.doFilter(chunked, streamed, new MockFilterChain(echo()));
+
+        assertThat(declared.getStatus()).isEqualTo(413);
+        assertThat(streamed.getStatus()).isEqualTo(413);
+        assertThat(streamed.getContentAsString()).doesNotContain(padding);
+    }
+
+    @Test
+    void otherEndpointsAreNotLimited() throws Exception {
+        RateLimitFilter filter = filter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/login");
+        request.setServletPath("/api/v1/auth/login");
+
+        assertThat(filter.shouldNotFilter(request)).isTrue();
+    }
+
+    @Test
+    void bucketRefillsOverItsPeriod() {
+        TokenBucket bucket = new TokenBucket(2, TimeUnit.SECONDS.toNanos(10), 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(Duration.ofNanos(bucket.tryConsume(0))).isEqualTo(Duration.ofSeconds(5));
+        assertThat(bucket.tryConsume(TimeUnit.SECONDS.toNanos(5))).isZero();
+    }
+
+    private RateLimitFilter filter() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        return new RateLimitFilter(properties, objectMapper, new ErrorResponseWriter(objectMapper), registry);
+    }
+
+    /** Le contrôleur simulé renvoie le corps reçu */
+    private MockHttpServletResponse login(RateLimitFilter filter, String ip, String email) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(loginRequest(ip, email), response, new MockFilterChain(echo()));
+        return response;
+    }
+
+    private MockHttpServletRequest loginRequest(String ip, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setServletPath("/api/v1/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"email\":\"" + email + "\",\"password\":\"x\"}").getBytes());
+        return request;
+    }
+
+    private HttpServlet echo() {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getWriter().write(new String(req.getInputStream().readAllBytes()));
+            }
+        };
+    }
+}
@@ -0,0 +1,245 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.dto.EnrollmentDTO;
+import com.ihm.backend.dto.response.CourseResponse;
+import com.ihm.backend.dto.response.EnrichedCourseResponse;
+import com.ihm.backend.dto.response.StudentCourseSummary;
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.EnrollmentStatus;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.exception.ResourceNotFoundException;
+import com.ihm.backend.mappers.CourseMapperImpl;
+import com.ihm.backend.monitoring.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fige le nombre de requêtes SQL émises par les services derrière chaque endpoint.
+ * Une régression (association repassée en EAGER, graphe oublié, N+1) fait échouer ces tests.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CourseService.class, EnrollmentService.class, CourseMapperImpl.class, BusinessMetrics.class,
+        SimpleMeterRegistry.class })
+class FetchPlanStatementCountTest {
+
+    private static final int PUBLISHED_COURSES = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    private Statistics statistics;
+    private User teacher;
+    private User student;
+    private Course course;
+    private Enrollment enrollment;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        teacher = persistUser("teacher@xccm.test", UserRole.TEACHER);
+        student = persistUser("student@xccm.test", UserRole.STUDENT);
+        User otherStudent = persistUser("other@xccm.test", UserRole.STUDENT);
+
+        for (int i = 0; i < PUBLISHED_COURSES; i++) {
+            Course published = Course.builder()
+                    .title("Cours " + i)
+                    .category("Informatique")
+                    .status(CourseStatus.PUBLISHED)
+                    .author(teacher)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            entityManager.persist(published);
+            if (i == 0) {
+                course = published;
+            }
+        }
+
+        enrollment = persistEnrollment(student, course);
+        persistEnrollment(otherStudent, course);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void publishedCatalogLoadsAuthorsInOneStatement() {
+        List<CourseResponse> courses = countStatements(1, () -> courseService.streamAllCourses().toList());
+
+        assertThat(courses).hasSize(PUBLISHED_COURSES);
+        assertThat(courses).allSatisfy(c -> assertThat(Hibernate.isInitialized(c.getAuthor())).isTrue());
+    }
+
+    @Test
+    void teacherCoursesLoadInTwoStatements() {
+        // Vérification de l'enseignant + liste des cours avec leur auteur
+        List<CourseResponse> courses = countStatements(2, () -> courseService.getAllCoursesForTeacher(teacher.getId()));
+
+        assertThat(courses).hasSize(PUBLISHED_COURSES);
+    }
+
+    @Test
+    void enrichedCourseLoadsCourseAuthorAndEnrollment() {
+        countStatements(2, () -> courseService.getEnrichedCourse(course.getId(), student.getId()));
+    }
+
+    @Test
+    void enrichedCatalogReadsUserEnrollmentsOnce() {
+        // Catalogue avec auteurs, puis tous les enrôlements de l'étudiant : pas une requête par cours
+        List<EnrichedCourseResponse> courses = countStatements(2,
+                () -> courseService.streamEnrichedCourses(student.getId()).toList());
+
+        assertThat(courses).hasSize(PUBLISHED_COURSES);
+        assertThat(courses).filteredOn(c -> c.getEnrollment() != null).singleElement()
+                .satisfies(c -> assertThat(c.getId()).isEqualTo(course.getId()));
+    }
+
+    @Test
+    void studentEnrollmentsDoNotLoadCoursesOrUsers() {
+        List<EnrollmentDTO> enrollments = countStatements(1,
+                () -> enrollmentService.streamUserEnrollments(student.getId()).toList());
+
+        assertThat(enrollments).singleElement()
+                .satisfies(e -> assertThat(e.getCourseId()).isEqualTo(course.getId()));
+    }
+
+    @Test
+    void studentCourseSummariesJoinCourseAndAuthorInOneStatement() {
+        List<StudentCourseSummary> summaries = countStatements(1,
+                () -> enrollmentService.getUserCourseSummaries(student.getId(), "lastAccessed", Sort.Direction.DESC));
+
+        assertThat(summaries).singleElement().satisfies(s -> {
+            assertThat(s.getCourseId()).isEqualTo(course.getId());
+            assertThat(s.getTitle()).isEqualTo("Cours 0");
+            assertThat(s.getAuthorName()).isEqualTo("Prénom Nom");
+        });
+    }
+
+    @Test
+    void pendingEnrollmentsForTeacherUseOneStatement() {
+        List<EnrollmentDTO> pending = countStatements(1,
+                () -> enrollmentService.getPendingEnrollmentsForTeacher(teacher.getId()));
+
+        assertThat(pending).hasSize(2);
+    }
+
+    @Test
+    void validateEnrollmentReadsOwnershipGraphThenUpdates() {
+        // Lecture enrôlement + cours + auteur en une jointure, puis l'UPDATE
+        EnrollmentDTO validated = countStatements(2,
+                () -> enrollmentService.validateEnrollment(enrollment.getId(), EnrollmentStatus.APPROVED, teacher.getId()));
+
+        assertThat(validated.getStatus()).isEqualTo(EnrollmentStatus.APPROVED);
+    }
+
+    @Test
+    void ownershipCheckIsOneExistenceQuery() {
+        countStatements(1, () -> {
+            courseService.validateOwnership(course.getId(), teacher.getId());
+            return null;
+        });
+    }
+
+    @Test
+    void deleteLoadsTheCourseThenDeletesIt() {
+        Course unenrolled = entityManager.createQuery(
+                "select c from Course c where c.title = 'Cours 1'", Course.class).getSingleResult();
+
+        // Cache de second niveau froid : lecture du cours, propriété comparée en mémoire, puis le DELETE
+        countStatements(2, () -> {
+            courseService.deleteCourse(unenrolled.getId(), teacher.getId());
+            return null;
+        });
+
+        assertThat(entityManager.find(Course.class, unenrolled.getId())).isNull();
+    }
+
+    @Test
+    void deleteByAnotherTeacherIsRejectedWithoutDeleting() {
+        User otherTeacher = persistUser("other-teacher@xccm.test", UserRole.TEACHER);
+        entityManager.flush();
+
+        assertThatThrownBy(() -> courseService.deleteCourse(course.getId(), otherTeacher.getId()))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> courseService.deleteCourse(-1, teacher.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(entityManager.find(Course.class, course.getId())).isNotNull();
+    }
+
+    private <T> T countStatements(long expected, ThrowingSupplier<T> call) {
+        entityManager.clear();
+        statistics.clear();
+        T result;
+        try {
+            result = call.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        entityManager.flush();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("requêtes SQL émises")
+                .isEqualTo(expected);
+        return result;
+    }
+
+    private User persistUser(String email, UserRole role) {
+        User user = User.builder()
+                .email(email)
+                .password("hash")
+                .role(role)
+                .firstName("Prénom")
+                .lastName("Nom")
+                .registrationDate(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Enrollment persistEnrollment(User user, Course target) {
+        Enrollment created = Enrollment.builder()
+                .user(user)
+                .course(target)
+                .completed(false)
+                .build();
+        entityManager.persist(created);
+        return created;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rotation des refresh tokens : usage unique et révocation de la famille en cas de rejeu
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RefreshTokenService.class)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = User.builder()
+                .email("refresh@xccm.test")
+                .password("hash")
+                .role(UserRole.STUDENT)
+                .firstName("Prénom")
+                .lastName("Nom")
+                .registrationDate(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @Test
+    void rotationReplacesTheTokenInTheSameSession() {
+        String issued = refreshTokenService.issue(user.getId());
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued).orElseThrow();
+
+        assertThat(rotation.userId()).isEqualTo(user.getId());
+        assertThat(rotation.refreshToken()).isNotEqualTo(issued);
+        assertThat(refreshTokenService.rotate(rotation.refreshToken())).isPresent();
+    }
+
+    @Test
+    void replayedTokenRevokesTheWholeFamily() {
+        String issued = refreshTokenService.issue(user.getId());
+        String rotated = refreshTokenService.rotate(issued).orElseThrow().refreshToken();
+
+        assertThat(refreshTokenService.rotate(issued)).isEmpty();
+        entityManager.clear();
+        assertThat(refreshTokenService.rotate(rotated)).isEmpty();
+    }
+
+    @Test
+    void revokeAllEndsEverySession() {
+        String first = refreshTokenService.issue(user.getId());
+        String second = refreshTokenService.issue(user.getId());
+
+        refreshTokenService.revokeAll(user.getId());
+        entityManager.clear();
+
+        assertThat(refreshTokenService.rotate(first)).isEmpty();
+        assertThat(refreshTokenService.rotate(second)).isEmpty();
+        assertThat(refreshTokenService.rotate("inconnu")).isEmpty();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Le filtre n'écarte que des emails certainement libres, et la base tranche tout le reste
+ */
+class RegisteredEmailsTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RegisteredEmails registeredEmails = new RegisteredEmails(userRepository, registry, 1_000, 0.01);
+
+    @Test
+    void newEmailSkipsTheDatabaseOnceLoaded() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("Inscrit@xccm.test"));
+        registeredEmails.load();
+
+        assertThat(registeredEmails.isTaken("nouveau@xccm.test")).isFalse();
+        verify(userRepository, never()).existsByEmail(anyString());
+
+        when(userRepository.existsByEmail("inscrit@XCCM.test")).thenReturn(true);
+        assertThat(registeredEmails.isTaken("inscrit@XCCM.test")).isTrue();
+        assertThat(registry.get(RegisteredEmails.CHECKS).tag("path", "filter").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void databaseDecidesUntilTheFilterIsLoaded() {
+        registeredEmails.isTaken("nouveau@xccm.test");
+
+        verify(userRepository).existsByEmail("nouveau@xccm.test");
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndKeepsItsFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@xccm.test"));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@xccm.test"))).isTrue();
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("other" + i + "@xccm.test")).count();
+        assertThat(falsePositives).isLessThan(200);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.Enrollment;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.mappers.CourseMapperImpl;
+import com.ihm.backend.monitoring.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Export des inscrits : tri par nom, échappement CSV, une ligne JSON par inscrit, contrôle de propriété
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ RosterExportService.class, CourseService.class, CourseMapperImpl.class, BusinessMetrics.class,
+        SimpleMeterRegistry.class })
+class RosterExportServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RosterExportService rosterExportService;
+
+    private User teacher;
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        teacher = persistUser("teacher@xccm.test", "Prénom", "Nom", UserRole.TEACHER);
+        course = Course.builder()
+                .title("Cours")
+                .status(CourseStatus.PUBLISHED)
+                .author(teacher)
+                .createdAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(course);
+        enroll(persistUser("zoe@xccm.test", "Zoé", "Tamo, dite \"Z\"", UserRole.STUDENT));
+        enroll(persistUser("ali@xccm.test", "=cmd", "Atangana", UserRole.STUDENT));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void csvIsSortedByNameAndEscaped() throws Exception {
+        String csv = export(RosterExportService.Format.CSV);
+
+        String[] lines = csv.substring(1).split("\r\n");
+        assertThat(csv).startsWith("\uFEFFemail,lastName,firstName,");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).startsWith("ali@xccm.test,Atangana,'=cmd,PENDING,0.0,");
+        assertThat(lines[2]).startsWith("zoe@xccm.test,\"Tamo, dite \"\"Z\"\"\",Zoé,");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        String ndjson = export(RosterExportService.Format.NDJSON);
+
+        assertThat(ndjson.split("\n")).hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"enrollmentId\":").endsWith("}"));
+        assertThat(ndjson).endsWith("}\n");
+    }
+
+    @Test
+    void onlyTheAuthorMayExport() {
+        assertThatThrownBy(() -> rosterExportService.checkAccess(course.getId(), UUID.randomUUID()))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private String export(RosterExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rosterExportService.checkAccess(course.getId(), teacher.getId());
+        rosterExportService.export(course.getId(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void enroll(User student) {
+        entityManager.persist(Enrollment.builder()
+                .user(student)
+                .course(course)
+                .completed(false)
+                .build());
+    }
+
+    private User persistUser(String email, String firstName, String lastName, UserRole role) {
+        User user = User.builder()
+                .email(email)
+                .password("hash")
+                .role(role)
+                .firstName(firstName)
+                .lastName(lastName)
+                .registrationDate(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
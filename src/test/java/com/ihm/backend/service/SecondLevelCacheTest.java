@@ -0,0 +1,154 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.dto.response.CourseResponse;
+import com.ihm.backend.dto.response.EnrichedCourseResponse;
+import com.ihm.backend.entity.Course;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.CourseStatus;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.mappers.CourseMapperImpl;
+import com.ihm.backend.repository.CourseRepository;
+import com.ihm.backend.repository.EnrollmentRepository;
+import com.ihm.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que les lectures de cours et d'auteurs sont servies par le cache de second niveau
+ * et que les écritures invalident correctement le cache de requêtes.
+ * Les données doivent être commitées pour entrer dans le cache : pas de transaction de test ici.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ CourseService.class, CourseMapperImpl.class })
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private Statistics statistics;
+    private User teacher;
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+
+        teacher = userRepository.save(User.builder()
+                .email("cache-teacher@xccm.test")
+                .password("hash")
+                .role(UserRole.TEACHER)
+                .firstName("Prénom")
+                .lastName("Nom")
+                .registrationDate(LocalDateTime.now())
+                .build());
+        course = courseRepository.save(Course.builder()
+                .title("Cours en cache")
+                .status(CourseStatus.PUBLISHED)
+                .author(teacher)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void enrichedCourseIsServedFromCacheOnceLoaded() throws Exception {
+        // Cours et auteur en une jointure au premier appel
+        countStatements(1, () -> courseService.getEnrichedCourse(course.getId(), null));
+
+        EnrichedCourseResponse cached = countStatements(0, () -> courseService.getEnrichedCourse(course.getId(), null));
+
+        assertThat(cached.getAuthor().getName()).isEqualTo("Prénom Nom");
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void statusChangeOnCachedCourseIsASingleUpdate() throws Exception {
+        countStatements(1, () -> courseService.getEnrichedCourse(course.getId(), null));
+
+        // Propriété vérifiée sur l'entité en cache : seul l'UPDATE part en base
+        CourseResponse archived = countStatements(1,
+                () -> courseService.changeCourseStatus(CourseStatus.ARCHIVED, course.getId(), teacher.getId()));
+
+        assertThat(archived.getStatus()).isEqualTo(CourseStatus.ARCHIVED);
+    }
+
+    @Test
+    void deleteOfCachedCourseIsASingleDeleteAndKeepsOtherCoursesCached() throws Exception {
+        Course other = courseRepository.save(Course.builder()
+                .title("Autre cours")
+                .status(CourseStatus.PUBLISHED)
+                .author(teacher)
+                .createdAt(LocalDateTime.now())
+                .build());
+        countStatements(1, () -> courseService.getEnrichedCourse(course.getId(), null));
+        countStatements(1, () -> courseService.getEnrichedCourse(other.getId(), null));
+
+        countStatements(1, () -> {
+            courseService.deleteCourse(course.getId(), teacher.getId());
+            return null;
+        });
+
+        // Suppression d'entité : la région courses n'est pas vidée
+        assertThat(courseRepository.findById(course.getId())).isEmpty();
+        assertThat(entityManagerFactory.getCache().contains(Course.class, other.getId())).isTrue();
+    }
+
+    @Test
+    void publishedCatalogIsServedFromQueryCacheUntilACourseChanges() throws Exception {
+        countStatements(1, () -> courseService.streamAllCourses().toList());
+        countStatements(0, () -> courseService.streamAllCourses().toList());
+
+        courseService.changeCourseStatus(CourseStatus.ARCHIVED, course.getId(), teacher.getId());
+
+        List<CourseResponse> afterWrite = countStatements(1, () -> courseService.streamAllCourses().toList());
+        assertThat(afterWrite).isEmpty();
+    }
+
+    private <T> T countStatements(long expected, Callable<T> call) throws Exception {
+        statistics.clear();
+        T result = call.call();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("requêtes SQL émises")
+                .isEqualTo(expected);
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.dto.UserDto;
+import com.ihm.backend.dto.request.UserSearchRequest;
+import com.ihm.backend.dto.response.CursorPage;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.mappers.UserMapperImpl;
+import com.ihm.backend.security.RevokedPrincipals;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Annuaire admin : pagination par clé sans trou ni doublon, filtres combinés, désactivation
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ UserServiceImpl.class, UserMapperImpl.class, RefreshTokenService.class, RevokedPrincipals.class,
+        JwtService.class })
+class UserDirectoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RevokedPrincipals revokedPrincipals;
+
+    private User student;
+
+    @BeforeEach
+    void seed() {
+        student = persistUser("alice@xccm.test", "Alice", "Mbarga", UserRole.STUDENT);
+        persistUser("bruno@xccm.test", "Bruno", "Alima", UserRole.STUDENT);
+        persistUser("a_b@xccm.test", "Carine", "Fotso", UserRole.TEACHER);
+        persistUser("denis@xccm.test", "Denis", "Kamga", UserRole.STUDENT);
+        persistUser("eric@xccm.test", "Éric", "Nana", UserRole.TEACHER);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesFollowEachOtherByEmailWithoutOverlap() {
+        UserSearchRequest search = new UserSearchRequest();
+        search.setSize(2);
+        List<String> emails = new ArrayList<>();
+        int pages = 0;
+        CursorPage<UserDto> page;
+        do {
+            page = userService.searchUsers(search);
+            page.getContent().forEach(u -> emails.add(u.getEmail()));
+            search.setAfter(page.getNextCursor());
+            pages++;
+        } while (page.isHasNext());
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(emails).containsExactly("a_b@xccm.test", "alice@xccm.test", "bruno@xccm.test",
+                "denis@xccm.test", "eric@xccm.test");
+    }
+
+    @Test
+    void prefixMatchesEmailOrNamesAndTreatsWildcardsLiterally() {
+        UserSearchRequest search = new UserSearchRequest();
+        search.setQ("AL");
+        assertThat(userService.searchUsers(search).getContent()).extracting(UserDto::getEmail)
+                .containsExactly("alice@xccm.test", "bruno@xccm.test");
+
+        search.setQ("a_");
+        assertThat(userService.searchUsers(search).getContent()).extracting(UserDto::getEmail)
+                .containsExactly("a_b@xccm.test");
+
+        search.setQ(null);
+        search.setRole(UserRole.TEACHER);
+        assertThat(userService.searchUsers(search).getContent()).hasSize(2);
+    }
+
+    @Test
+    void deactivationRevokesSessionsAndFiltersOnState() {
+        String refreshToken = refreshTokenService.issue(student.getId());
+
+        userService.deactivateUser(student.getId());
+        entityManager.flush();
+
+        assertThat(refreshTokenService.rotate(refreshToken)).isEmpty();
+        UserSearchRequest search = new UserSearchRequest();
+        search.setActive(false);
+        assertThat(userService.searchUsers(search).getContent()).singleElement()
+                .satisfies(u -> assertThat(u.getIsActive()).isFalse());
+    }
+
+    @Test
+    void rolledBackReactivationKeepsOldAccessTokensRevoked() {
+        Date issuedBeforeDeactivation = Date.from(Instant.now().minusSeconds(60));
+        entityManager.find(User.class, student.getId()).setActive(false);
+        entityManager.flush();
+        revokedPrincipals.revoke(student.getId());
+
+        userService.activateUser(student.getId());
+        assertThat(revokedPrincipals.isRevoked(student.getId(), issuedBeforeDeactivation)).isTrue();
+
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        assertThat(revokedPrincipals.isRevoked(student.getId(), issuedBeforeDeactivation)).isTrue();
+    }
+
+    private User persistUser(String email, String firstName, String lastName, UserRole role) {
+        User user = User.builder()
+                .email(email)
+                .password("hash")
+                .role(role)
+                .firstName(firstName)
+                .lastName(lastName)
+                .registrationDate(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
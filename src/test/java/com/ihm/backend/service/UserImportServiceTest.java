@@ -0,0 +1,159 @@
+package com.ihm.backend.service;
+
+import com.ihm.backend.dto.response.UserImportLine;
+import com.ihm.backend.entity.User;
+import com.ihm.backend.enums.UserRole;
+import com.ihm.backend.monitoring.BusinessMetrics;
+import com.ihm.backend.repository.UserRepository;
+import com.ihm.backend.security.PasswordHashingProperties;
+import com.ihm.backend.security.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Import CSV par lots : statut de chaque ligne, bilan, et reprise sans doublon.
+ * Chaque lot est commité par le service : pas de transaction de test ici.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "app.user-import.batch-size=2")
+@Import({ UserImportService.class, RegisteredEmails.class, PasswordHashingService.class,
+        PasswordHashingProperties.class, BusinessMetrics.class, SimpleMeterRegistry.class,
+        UserImportServiceTest.Encoder.class })
+class UserImportServiceTest {
+
+    private static final String CSV = """
+            \uFEFFemail;first_name;last_name;password;role;university
+            ada@univ.cm;Ada;Lovelace;Secret#2024;;"Université de Yaoundé I; ENSP"
+            existant@univ.cm;Déjà;Inscrit;Secret#2024;student;
+            pas-un-email;X;Y;Secret#2024;;
+            ada@univ.cm;Ada;Encore;Secret#2024;;
+
+            alan@univ.cm;Alan;Turing;Secret#2024;teacher;
+            grace@univ.cm;Grace;Hopper;court;;
+            """;
+
+    @TestConfiguration
+    static class Encoder {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void eachRowIsReportedAndOnlyValidNewUsersAreCreated() throws Exception {
+        persist("existant@univ.cm");
+
+        List<UserImportLine> report = run(1);
+
+        assertThat(report.subList(0, report.size() - 1))
+                .extracting(UserImportLine::getRow, UserImportLine::getStatus)
+                .containsExactly(
+                        tuple(1L, UserImportLine.CREATED),
+                        tuple(2L, UserImportLine.EXISTING),
+                        tuple(3L, UserImportLine.INVALID),
+                        tuple(4L, UserImportLine.DUPLICATE),
+                        tuple(6L, UserImportLine.CREATED),
+                        tuple(7L, UserImportLine.INVALID));
+        UserImportLine summary = report.get(report.size() - 1);
+        assertThat(summary.getType()).isEqualTo("summary");
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getLastRow()).isEqualTo(7);
+
+        User ada = userRepository.findByEmail("ada@univ.cm").orElseThrow();
+        assertThat(ada.getUniversity()).isEqualTo("Université de Yaoundé I; ENSP");
+        assertThat(ada.getRole()).isEqualTo(UserRole.STUDENT);
+        assertThat(ada.getPassword()).startsWith("$2a$04$");
+        assertThat(userRepository.findByEmail("alan@univ.cm").orElseThrow().getRole()).isEqualTo(UserRole.TEACHER);
+    }
+
+    @Test
+    void resumingDoesNotCreateUsersTwice() throws Exception {
+        run(1);
+        long users = userRepository.count();
+
+        List<UserImportLine> resumed = run(4);
+
+        assertThat(userRepository.count()).isEqualTo(users);
+        assertThat(resumed).filteredOn(line -> line.getRow() != null)
+                .extracting(UserImportLine::getRow, UserImportLine::getStatus)
+                .containsExactly(
+                        tuple(4L, UserImportLine.EXISTING),
+                        tuple(6L, UserImportLine.EXISTING),
+                        tuple(7L, UserImportLine.INVALID));
+    }
+
+    @Test
+    void rejectedRowsAreReportedWithoutWaitingForValidOnes() throws Exception {
+        String invalid = """
+                email;first_name;last_name;password
+                un;A;B;Secret#2024
+                deux;A;B;Secret#2024
+                trois;A;B;Secret#2024
+                quatre;A;B;Secret#2024
+                cinq;A;B;Secret#2024
+                """;
+        List<List<UserImportLine>> chunks = new ArrayList<>();
+
+        userImportService.importCsv(new StringReader(invalid), 1, chunks::add);
+
+        // Lots de 2 lignes : le point de reprise avance même sans aucune création
+        assertThat(chunks).hasSize(4);
+        assertThat(chunks.subList(0, 3)).extracting(chunk -> chunk.get(chunk.size() - 1).getRow())
+                .containsExactly(2L, 4L, 5L);
+        assertThat(chunks.get(3)).singleElement()
+                .satisfies(summary -> assertThat(summary.getInvalid()).isEqualTo(5));
+    }
+
+    private List<UserImportLine> run(long fromRow) throws Exception {
+        List<UserImportLine> report = new ArrayList<>();
+        userImportService.importCsv(new StringReader(CSV), fromRow, report::addAll);
+        return report;
+    }
+
+    private void persist(String email) {
+        userRepository.save(User.builder()
+                .email(email)
+                .password("hash")
+                .role(UserRole.STUDENT)
+                .firstName("Prénom")
+                .lastName("Nom")
+                .registrationDate(LocalDateTime.now())
+                .build());
+    }
+}